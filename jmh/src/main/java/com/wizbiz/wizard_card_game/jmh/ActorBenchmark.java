@@ -0,0 +1,69 @@
+package com.wizbiz.wizard_card_game.jmh;
+
+import com.wizbiz.wizard_card_game.Player;
+import com.wizbiz.wizard_card_game.statuseffects.EffectType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ActorBenchmark - Status effect bookkeeping on a single actor
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ActorBenchmark {
+
+    private Player actor;
+    private Player attacker;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        actor = new Player();
+        // Shield never expires, so there is always at least one effect to walk
+        actor.addEffect(EffectType.SHIELD, 0, 15);
+        attacker = new Player();
+        attacker.addEffect(EffectType.WEAKEN, 1_000_000, 25);
+    }
+
+    /**
+     * One typical turn: a damage-over-time effect lands, then the turn-start tick runs.
+     * Burn lasts three turns, so the set of active effects stays at a steady size.
+     */
+    @Benchmark
+    public int startTurnEffects() {
+        actor.addEffect(EffectType.BURN, 3, 3);
+        actor.addEffect(EffectType.POISON, 4, 4);
+        actor.startTurnEffects();
+        return actor.getHp();
+    }
+
+    /**
+     * Refresh path: every effect type is already present, so each add finds and refreshes it.
+     */
+    @Benchmark
+    public Player addEffect() {
+        actor.addEffect(EffectType.BURN, 3, 3);
+        actor.addEffect(EffectType.FREEZE, 2, 0);
+        actor.addEffect(EffectType.POISON, 4, 4);
+        actor.addEffect(EffectType.REGEN, 4, 5);
+        actor.addEffect(EffectType.SHIELD, 0, 15);
+        actor.addEffect(EffectType.STUN, 1, 0);
+        actor.addEffect(EffectType.WEAKEN, 3, 25);
+        return actor;
+    }
+
+    /**
+     * Damage pipeline for one spell hit: a weakened caster hits a shielded target.
+     * The shield is topped up first so every hit goes through absorption.
+     */
+    @Benchmark
+    public int hit() {
+        actor.addEffect(EffectType.SHIELD, 0, 15);
+        attacker.hit(actor, 25);
+        return actor.getHp();
+    }
+}
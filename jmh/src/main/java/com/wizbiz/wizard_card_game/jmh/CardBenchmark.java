@@ -0,0 +1,43 @@
+package com.wizbiz.wizard_card_game.jmh;
+
+import com.wizbiz.wizard_card_game.Deck;
+import com.wizbiz.wizard_card_game.SpellCard;
+import com.wizbiz.wizard_card_game.SpellCardFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CardBenchmark - Per-match card setup (building and shuffling the deck) and drawing
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CardBenchmark {
+
+    private final SplittableRandom rng = new SplittableRandom(42L);
+    private final Deck cycling = new Deck(new SplittableRandom(7L));
+
+    @Benchmark
+    public Deck deckConstructAndShuffle() {
+        return new Deck(rng);
+    }
+
+    // Every card drawn is discarded again, so the deck reshuffles once per 54 draws
+    @Benchmark
+    public int drawAndDiscard() {
+        int card = cycling.draw();
+        cycling.discard(card);
+        return card;
+    }
+
+    @Benchmark
+    public List<SpellCard> createMultiple() {
+        return SpellCardFactory.createMultiple("Fireball", 8);
+    }
+}
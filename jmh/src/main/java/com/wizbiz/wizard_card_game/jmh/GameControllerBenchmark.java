@@ -0,0 +1,78 @@
+package com.wizbiz.wizard_card_game.jmh;
+
+import com.wizbiz.wizard_card_game.*;
+import com.wizbiz.wizard_card_game.commands.CastSpellCommand;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameControllerBenchmark - Playing a card through the controller (lookup, cast, log, notify),
+ * and a three-card turn as separate commands versus one executeBatch
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameControllerBenchmark {
+
+    private GameController gc;
+    private Player player;
+    private Enemy enemy;
+
+    // A fresh match per iteration keeps the battle log from growing across the whole run
+    @Setup(Level.Iteration)
+    public void setUp() {
+        gc = new GameController(42L);
+        gc.startGameWithCustomizations(new Player(), new Enemy());
+        player = gc.getPlayer();
+        enemy = gc.getEnemy();
+        // What the UI attaches: a log sink and an observer, both cheap here
+        gc.attachLog(lines -> { });
+        gc.addObserver(() -> { });
+    }
+
+    /**
+     * Draws a card and plays the last card in hand: a count decrement, no hand search.
+     * Played cards go to the discard pile and come back through reshuffles, so the
+     * deck keeps cycling however long the iteration runs.
+     */
+    @Benchmark
+    public boolean playCard() {
+        gc.drawForActor(player, 1);
+        player.addStartingMp(1);
+        return gc.playCard(player, player.cardAt(player.getHandSize() - 1), enemy);
+    }
+
+    // Three casts, one command at a time: three observer notifications and three log flushes
+    @Benchmark
+    public Player castThree() {
+        refill();
+        for (int i = 0; i < 3; i++) {
+            gc.executeCommand(new CastSpellCommand(gc, player, enemy, player.cardAt(player.getHandSize() - 1)));
+        }
+        return player;
+    }
+
+    // The same three casts checked up front and run as one batch: one notification, one flush
+    @Benchmark
+    public Player castThreeBatched() {
+        refill();
+        int size = player.getHandSize();
+        gc.executeBatch(List.of(
+                new CastSpellCommand(gc, player, enemy, player.cardAt(size - 1)),
+                new CastSpellCommand(gc, player, enemy, player.cardAt(size - 2)),
+                new CastSpellCommand(gc, player, enemy, player.cardAt(size - 3))));
+        return player;
+    }
+
+    // Full hand, MP for any three cards, and enough enemy HP that the match never ends
+    private void refill() {
+        gc.drawForActor(player, Actor.MAX_HAND_SIZE - player.getHandSize());
+        player.addStartingMp(30);
+        enemy.addHp(150);
+    }
+}
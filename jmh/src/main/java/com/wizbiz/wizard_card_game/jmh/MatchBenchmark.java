@@ -0,0 +1,47 @@
+package com.wizbiz.wizard_card_game.jmh;
+
+import com.wizbiz.wizard_card_game.GameController;
+import com.wizbiz.wizard_card_game.simulation.BattleKernel;
+import com.wizbiz.wizard_card_game.simulation.BattleSimulator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MatchBenchmark - A whole AI-vs-AI match, from startGameWithCustomizations to a knockout
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MatchBenchmark {
+
+    private final BattleSimulator simulator = new BattleSimulator(1, BattleSimulator.DEFAULT_TURN_LIMIT, 0L);
+    private final BattleKernel kernel = new BattleKernel(1);
+    private long seed;
+
+    // Seeds cycle through a fixed window so every run plays the same set of matches
+    @Benchmark
+    public GameController fullMatch() {
+        seed = (seed + 1) & 1023;
+        return simulator.playMatch(seed);
+    }
+
+    // Same matches with a text battle log attached, to price event formatting
+    @Benchmark
+    public GameController loggedMatch() {
+        seed = (seed + 1) & 1023;
+        GameController gc = new GameController(seed);
+        gc.attachLog();
+        return simulator.playMatch(gc);
+    }
+
+    // Same matches on the struct-of-arrays kernel; only match setup allocates
+    @Benchmark
+    public int kernelMatch() {
+        seed = (seed + 1) & 1023;
+        return kernel.playMatch(0, seed, 1, BattleSimulator.DEFAULT_TURN_LIMIT);
+    }
+}
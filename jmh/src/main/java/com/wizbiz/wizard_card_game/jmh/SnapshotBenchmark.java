@@ -0,0 +1,78 @@
+package com.wizbiz.wizard_card_game.jmh;
+
+import com.wizbiz.wizard_card_game.*;
+import com.wizbiz.wizard_card_game.ai.RandomStrategy;
+import com.wizbiz.wizard_card_game.statuseffects.EffectType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SnapshotBenchmark - Capturing and restoring a whole battle, as search code does per branch,
+ * and seeking a long recorded match, which restores a keyframe and replays from it
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnapshotBenchmark {
+
+    private GameController gc;
+    private final BattleSnapshot snapshot = new BattleSnapshot();
+
+    // A mid-match position: a few turns in, with effects on both sides and cards in the discard pile
+    @Setup
+    public void setUp() {
+        gc = new GameController(42L);
+        gc.startGameWithCustomizations(new Player(), new Enemy());
+        gc.getPlayer().addEffect(EffectType.REGEN, 4, 5);
+        gc.getEnemy().addEffect(EffectType.POISON, 4, 4);
+        for (int i = 0; i < 3 && !gc.isMatchOver(); i++) {
+            gc.castSpell(RandomStrategy.chooseCard(gc.getPlayer(), gc.getRandom().ai()));
+        }
+        snapshot.capture(gc);
+    }
+
+    @Benchmark
+    public BattleSnapshot capture() {
+        snapshot.capture(gc);
+        return snapshot;
+    }
+
+    @Benchmark
+    public GameController restore() {
+        snapshot.restore(gc);
+        return gc;
+    }
+
+    // A long AI-vs-AI match (both wizards with +2000 HP), recorded with the default keyframe budget
+    @State(Scope.Thread)
+    public static class Recorded {
+        MatchRecord record;
+        final BattleSnapshot into = new BattleSnapshot();
+        int turn;
+
+        @Setup
+        public void setUp() {
+            GameController match = new GameController(7L);
+            record = match.attachRecord();
+            match.setAutoRun(false);
+            match.setPlayerStrategy(new RandomStrategy());
+            Player player = new Player();
+            Enemy enemy = new Enemy();
+            player.heal(2000);
+            enemy.addHp(2000);
+            match.startGameWithCustomizations(player, enemy);
+            match.runUntilEnd();
+        }
+    }
+
+    // Walks through the match so seeks land at every distance from a keyframe
+    @Benchmark
+    public BattleSnapshot seek(Recorded recorded) {
+        recorded.turn = (recorded.turn + 37) % (recorded.record.getLastTurn() + 1);
+        return recorded.record.seek(recorded.turn, recorded.into);
+    }
+}
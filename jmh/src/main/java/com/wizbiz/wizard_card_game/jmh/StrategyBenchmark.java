@@ -0,0 +1,89 @@
+package com.wizbiz.wizard_card_game.jmh;
+
+import com.wizbiz.wizard_card_game.*;
+import com.wizbiz.wizard_card_game.ai.EnemyStrategy;
+import com.wizbiz.wizard_card_game.ai.RandomStrategy;
+import com.wizbiz.wizard_card_game.simulation.BattleSimulator;
+import com.wizbiz.wizard_card_game.statuseffects.EffectType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StrategyBenchmark - Decisions per second and head-to-head results for each EnemyStrategy
+ * Strategies are BattleSimulator specs, so searches can be sized with -p strategy=mcts:200.
+ * headToHead plays the strategy as the enemy against the opponent strategy as the player
+ * and reports the wins on each side as extra counters (enemyWins / (enemyWins + playerWins
+ * + draws) is the strategy's win rate); use the simulator for tight confidence intervals.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StrategyBenchmark {
+
+    @Param({"random", "greedy", "lethal", "mcts:64", "expectimax:2"})
+    public String strategy;
+
+    @Param({"random"})
+    public String opponent;
+
+    private EnemyStrategy chooser;
+    private GameController gc;
+    private BattleSimulator simulator;
+    private long seed;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Results {
+        public long enemyWins;
+        public long playerWins;
+        public long draws;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            enemyWins = playerWins = draws = 0;
+        }
+    }
+
+    // A mid-match position on the player's turn: effects on both sides, cards in the discard pile
+    @Setup
+    public void setUp() {
+        chooser = BattleSimulator.parseStrategy(strategy, 1);
+        gc = new GameController(42L);
+        gc.startGameWithCustomizations(new Player(), new Enemy());
+        gc.getPlayer().addEffect(EffectType.REGEN, 4, 5);
+        gc.getEnemy().addEffect(EffectType.POISON, 4, 4);
+        for (int i = 0; i < 3 && !gc.isMatchOver(); i++) {
+            gc.castSpell(RandomStrategy.chooseCard(gc.getPlayer(), gc.getRandom().ai()));
+        }
+
+        simulator = new BattleSimulator(1, BattleSimulator.DEFAULT_TURN_LIMIT, 0L);
+        simulator.setPlayerStrategy(BattleSimulator.parseStrategy(opponent, 1));
+        simulator.setEnemyStrategy(chooser);
+    }
+
+    // One decision; the position does not change, so every call does the same work
+    @Benchmark
+    public int decide() {
+        return chooser.chooseCard(gc, gc.getPlayer());
+    }
+
+    // Seeds cycle through a fixed window so every strategy plays the same set of deals
+    @Benchmark
+    public GameController headToHead(Results results) {
+        seed = (seed + 1) & 1023;
+        GameController match = simulator.playMatch(seed);
+        Actor winner = match.getWinner();
+        if (winner == match.getEnemy()) {
+            results.enemyWins++;
+        } else if (winner == match.getPlayer()) {
+            results.playerWins++;
+        } else {
+            results.draws++;
+        }
+        return match;
+    }
+}
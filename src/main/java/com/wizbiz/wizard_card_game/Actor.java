@@ -1,58 +1,252 @@
 package com.wizbiz.wizard_card_game;
 import com.wizbiz.wizard_card_game.statuseffects.*;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 // Base class for Player and Enemy - handles health, mana, cards, and effects
+// Every change goes through the methods below, which notify ActorObservers per field.
+// The hand is a multiset: a copy count per card id plus a mask of the ids present,
+// so playing, drawing and listing the distinct playable cards never search a list.
 public abstract class Actor {
-    protected int healthPoints = 100;
-    protected int manaPoints = 0;
-    protected List<SpellCard> hand = new ArrayList<>();
-    protected List<StatusEffect> effects = new ArrayList<>();
-    private static final int MAX_HAND_SIZE = 5;
+    private int healthPoints = 100;
+    private int manaPoints = 0;
+    private final int[] handCount = new int[SpellCardFactory.CARD_TYPES];
+    private int handSize;
+    private int handMask;  // bit per card id with at least one copy in hand
+    private final List<SpellCard> handView = new HandView();
+    protected final EffectStore effects = new EffectStore();
+    public static final int MAX_HAND_SIZE = 5;
     private boolean hasHadFirstTurn = false;
 
+    // Undo history this actor reports hand and effect changes to (null unless the match journals)
+    private MatchJournal journal;
+    private int side;
+
+    private final List<ActorObserver> observers = new ArrayList<>();
+
+    public void addObserver(ActorObserver observer) {
+        if (!observers.contains(observer)) {
+            observers.add(observer);
+        }
+    }
+
+    public void removeObserver(ActorObserver observer) {
+        observers.remove(observer);
+    }
+
     public void drawCards(DeckIterator it, int count) {
+        int before = handSize;
         for (int i = 0; i < count && it.hasNext(); i++) {
-            if (hand.size() < MAX_HAND_SIZE) {
-                hand.add(it.next());
+            if (handSize < MAX_HAND_SIZE) {
+                put(it.next().getId());
             } else {
                 break;
             }
         }
+        if (handSize != before) fireHandChanged();
+    }
+
+    /**
+     * Adds a card to the hand unless it is already full. Returns whether it was added.
+     */
+    public boolean addToHand(SpellCard card) {
+        if (handSize >= MAX_HAND_SIZE) return false;
+        put(card.getId());
+        fireHandChanged();
+        return true;
+    }
+
+    /**
+     * Removes one copy of a card from the hand. Returns false if there is none.
+     */
+    public boolean removeCard(int cardId) {
+        if (handCount[cardId] == 0) return false;
+        if (--handCount[cardId] == 0) handMask &= ~(1 << cardId);
+        handSize--;
+        if (journal != null) journal.handChanged(side, cardId, -1);
+        fireHandChanged();
+        return true;
+    }
+
+    // Index into the hand as getHand() lists it
+    public SpellCard removeFromHand(int index) {
+        int cardId = cardAt(index);
+        removeCard(cardId);
+        return SpellCardFactory.create(cardId);
+    }
+
+    private void put(int cardId) {
+        handCount[cardId]++;
+        handMask |= 1 << cardId;
+        handSize++;
+        if (journal != null) journal.handChanged(side, cardId, 1);
     }
 
     public void startTurnEffects() {
         // Only add mana after the first turn (first turn uses starting mana)
         if (hasHadFirstTurn) {
-            manaPoints += 1;
+            setMp(manaPoints + 1);
         }
         hasHadFirstTurn = true;
 
-        for (Iterator<StatusEffect> it = effects.iterator(); it.hasNext();) {
-            StatusEffect effect = it.next();
-            effect.onTurnStart(this);
-            if (effect.isExpired()) it.remove();
-        }
+        if (effects.isEmpty()) return;
+        if (journal != null) journal.effectsChanging(side, effects);
+        int mask = effects.getMask();
+        effects.tick(this);
+        if (effects.getMask() != mask) fireEffectsChanged();
     }
 
-    public void addEffect(StatusEffect effect) {
-        for (StatusEffect existing : effects) {
-            if (existing.getClass() == effect.getClass()) {
-                existing.refresh(effect);
-                return;
-            }
+    /**
+     * Applies a status effect, refreshing it if the actor already has one of that type.
+     */
+    public void addEffect(EffectType type, int turns, int magnitude) {
+        if (journal != null) journal.effectsChanging(side, effects);
+        effects.add(type, turns, magnitude);
+        fireEffectsChanged();
+    }
+
+    public boolean hasEffect(EffectType type) { return effects.has(type); }
+    public EffectStore getEffects() { return effects; }
+
+    public void takeDamage(int dmg) { setHp(healthPoints - dmg); }
+
+    /**
+     * Damage pipeline for a spell hit: the caster's modifiers scale the base damage,
+     * then the target's shield soaks up what it can and the rest comes off HP.
+     */
+    public void hit(Actor target, int baseDamage) {
+        target.takeHit(effects.outgoing(baseDamage));
+    }
+
+    public void takeHit(int dmg) {
+        if ((effects.getMask() & EffectType.SHIELD.bit) != 0) {
+            if (journal != null) journal.effectsChanging(side, effects);
+            dmg = effects.absorb(dmg);
+            fireEffectsChanged();
         }
-        effects.add(effect);
+        takeDamage(dmg);
     }
 
-    public void takeDamage(int dmg) { healthPoints -= dmg; }
-    public void heal(int amt) { healthPoints += amt; }
+    public void heal(int amt) { setHp(healthPoints + amt); }
     public boolean hasMp(int cost) { return manaPoints >= cost; }
-    public void spendMp(int cost) { manaPoints -= cost; }
+    public void spendMp(int cost) { setMp(manaPoints - cost); }
     public int getHp() { return healthPoints; }
     public int getMp() { return manaPoints; }
-    public List<SpellCard> getHand() { return hand; }
+
+    // Read-only view of the hand, one entry per copy in card id order;
+    // use addToHand/removeCard so observers hear about changes
+    public List<SpellCard> getHand() { return handView; }
+
+    public int getHandSize() { return handSize; }
+    public int getHandCount(int cardId) { return handCount[cardId]; }
+    // Bit per card id in hand, and the same restricted to the cards current MP can pay for
+    public int getHandMask() { return handMask; }
+    public int getPlayableMask() { return handMask & SpellCardFactory.affordableMask(manaPoints); }
+
+    /**
+     * Card id at position {@code index} of the hand in card id order (what getHand().get(index) holds).
+     */
+    public int cardAt(int index) {
+        if (index < 0 || index >= handSize) throw new IndexOutOfBoundsException(index);
+        for (int m = handMask; ; m &= m - 1) {
+            int cardId = Integer.numberOfTrailingZeros(m);
+            index -= handCount[cardId];
+            if (index < 0) return cardId;
+        }
+    }
+
+    protected void setHp(int hp) {
+        int old = healthPoints;
+        healthPoints = hp;
+        if (old != hp) {
+            for (int i = 0; i < observers.size(); i++) observers.get(i).hpChanged(this, old, hp);
+        }
+    }
+
+    protected void setMp(int mp) {
+        int old = manaPoints;
+        manaPoints = mp;
+        if (old != mp) {
+            for (int i = 0; i < observers.size(); i++) observers.get(i).mpChanged(this, old, mp);
+        }
+    }
+
+    //============================================
+    // Snapshot support (BattleSnapshot)
+    //============================================
+
+    boolean hasHadFirstTurn() { return hasHadFirstTurn; }
+
+    /**
+     * Overwrites HP, MP, hand and effects in one go; observers hear about each part that changed.
+     */
+    void restore(int hp, int mp, boolean hadFirstTurn, byte[] handCounts, int handFrom,
+                 int effectMask, int[] effectTurns, int[] effectMagnitude, int effectBase) {
+        setHp(hp);
+        setMp(mp);
+        hasHadFirstTurn = hadFirstTurn;
+
+        boolean handChanged = false;
+        for (int cardId = 0; cardId < handCount.length; cardId++) {
+            int count = handCounts[handFrom + cardId];
+            if (handCount[cardId] != count) {
+                handSize += count - handCount[cardId];
+                handCount[cardId] = count;
+                handMask = count > 0 ? handMask | 1 << cardId : handMask & ~(1 << cardId);
+                handChanged = true;
+            }
+        }
+        if (handChanged) fireHandChanged();
+
+        effects.copyFrom(effectMask, effectTurns, effectMagnitude, effectBase);
+        fireEffectsChanged();
+    }
+
+    //============================================
+    // Undo support (MatchJournal)
+    //============================================
+
+    void attachJournal(MatchJournal journal, int side) {
+        this.journal = journal;
+        this.side = side;
+    }
+
+    // Writes below put recorded values back, so they are not reported to the journal
+
+    void restoreScalars(int hp, int mp, boolean hadFirstTurn) {
+        setHp(hp);
+        setMp(mp);
+        hasHadFirstTurn = hadFirstTurn;
+    }
+
+    void adjustHand(int cardId, int delta) {
+        handCount[cardId] += delta;
+        handSize += delta;
+        handMask = handCount[cardId] > 0 ? handMask | 1 << cardId : handMask & ~(1 << cardId);
+        fireHandChanged();
+    }
+
+    void restoreEffects(int mask, int[] turnsLeft, int[] magnitude) {
+        effects.copyFrom(mask, turnsLeft, magnitude, 0);
+        fireEffectsChanged();
+    }
+
+    // The counts seen as a list; every read walks the live counts
+    private final class HandView extends AbstractList<SpellCard> {
+        @Override
+        public SpellCard get(int index) { return SpellCardFactory.create(cardAt(index)); }
+
+        @Override
+        public int size() { return handSize; }
+    }
+
+    private void fireHandChanged() {
+        for (int i = 0; i < observers.size(); i++) observers.get(i).handChanged(this);
+    }
+
+    private void fireEffectsChanged() {
+        for (int i = 0; i < observers.size(); i++) observers.get(i).effectsChanged(this);
+    }
 }
\ No newline at end of file
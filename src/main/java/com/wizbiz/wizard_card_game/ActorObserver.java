@@ -0,0 +1,19 @@
+package com.wizbiz.wizard_card_game;
+
+/**
+ * ActorObserver - Per-field change notifications from an Actor
+ * Each callback fires only when that part of the actor actually changed, so a
+ * view can update just the node that shows it. All methods default to no-ops.
+ */
+public interface ActorObserver {
+
+    default void hpChanged(Actor actor, int oldHp, int newHp) {}
+
+    default void mpChanged(Actor actor, int oldMp, int newMp) {}
+
+    // A card was drawn into or removed from the hand
+    default void handChanged(Actor actor) {}
+
+    // An effect was applied, refreshed or expired
+    default void effectsChanged(Actor actor) {}
+}
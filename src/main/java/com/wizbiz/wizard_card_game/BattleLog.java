@@ -0,0 +1,64 @@
+package com.wizbiz.wizard_card_game;
+
+import java.util.Arrays;
+
+/**
+ * BattleLog - Bounded ring buffer of battle log entries
+ * Keeps only the most recent entries, so appending costs the same no matter how
+ * long the match runs. Each GameController owns one, so it starts empty every match.
+ */
+public class BattleLog {
+
+    public static final int DEFAULT_CAPACITY = 500;
+
+    private final String[] entries;
+    private int start;  // index of the oldest entry
+    private int size;
+
+    public BattleLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public BattleLog(int capacity) {
+        this.entries = new String[capacity];
+    }
+
+    public void add(String entry) {
+        int capacity = entries.length;
+        if (size < capacity) {
+            entries[(start + size) % capacity] = entry;
+            size++;
+        } else {
+            // Full: overwrite the oldest entry
+            entries[start] = entry;
+            start = (start + 1) % capacity;
+        }
+    }
+
+    /**
+     * Returns the i-th retained entry, oldest first.
+     */
+    public String get(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException(i);
+        return entries[(start + i) % entries.length];
+    }
+
+    public int size() { return size; }
+    public int capacity() { return entries.length; }
+
+    public void clear() {
+        Arrays.fill(entries, null);
+        start = 0;
+        size = 0;
+    }
+
+    // Retained entries, one per line
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            sb.append(get(i)).append('\n');
+        }
+        return sb.toString();
+    }
+}
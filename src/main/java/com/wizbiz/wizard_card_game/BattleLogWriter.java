@@ -0,0 +1,84 @@
+package com.wizbiz.wizard_card_game;
+
+import com.wizbiz.wizard_card_game.events.GameEvent;
+import com.wizbiz.wizard_card_game.events.GameEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * BattleLogWriter - Turns game events into battle log lines
+ * The only place log text is built, so matches without a text log never format anything.
+ * Each line is stored in the BattleLog and, if given, passed to a sink such as the UI.
+ * The sink gets lines in blocks: while GameController holds the writer (an open batch,
+ * such as a whole turn) lines queue up and reach the sink as one list on flush().
+ */
+public class BattleLogWriter implements GameEventListener {
+
+    private final BattleLog log;
+    private final Consumer<List<String>> sink;
+    private final List<String> pending = new ArrayList<>();
+    private boolean holding;
+
+    public BattleLogWriter(BattleLog log, Consumer<List<String>> sink) {
+        this.log = log;
+        this.sink = sink;
+    }
+
+    // Queues lines for the sink until flush()
+    void hold() {
+        holding = true;
+    }
+
+    // Passes the queued lines to the sink in one call and stops holding
+    void flush() {
+        holding = false;
+        if (pending.isEmpty()) return;
+        sink.accept(List.copyOf(pending));
+        pending.clear();
+    }
+
+    @Override
+    public void onEvent(GameEvent event) {
+        if (event instanceof GameEvent.MatchStarted e) {
+            write("Game started.");
+            write(e.playerName() + " vs " + e.enemyName() + "!");
+            write("Both wizards drew initial hands.");
+        } else if (event instanceof GameEvent.TurnStarted e) {
+            write(switch (e.side()) {
+                case PLAYER -> "Player's turn starts.";
+                case ENEMY -> "=== Enemy's turn begins ===";
+            });
+        } else if (event instanceof GameEvent.CardDrawn e) {
+            write(e.side().label() + " drew " + e.count() + " card(s).");
+        } else if (event instanceof GameEvent.CommandExecuted e) {
+            write("→ " + e.description());
+        } else if (event instanceof GameEvent.SpellCast e) {
+            write(e.caster().label() + " played: " + cardName(e.spellId()));
+        } else if (event instanceof GameEvent.SpellFizzled e) {
+            write(e.caster().label() + " played: " + cardName(e.spellId()) + " (not enough mana)");
+        } else if (event instanceof GameEvent.PlayFailed e) {
+            write(e.side().label() + " attempted to play: " + cardName(e.cardId()) + " (no matching card in hand)");
+        } else if (event instanceof GameEvent.NoPlayableCards e) {
+            write(e.side().label() + " has no playable cards!");
+        } else if (event instanceof GameEvent.Message e) {
+            write(e.text());
+        } else if (event instanceof GameEvent.MatchEnded e) {
+            write(e.winner() == null ? "Both wizards fall!" : e.winner().label() + " wins!");
+        }
+        // EffectTicked is shown through the HP/MP displays rather than the log
+    }
+
+    private void write(String line) {
+        log.add(line);
+        if (sink == null) return;
+        pending.add(line);
+        if (!holding) flush();
+    }
+
+    private static String cardName(int cardId) {
+        return cardId >= 0 && cardId < SpellCardFactory.CARD_TYPES
+                ? SpellCardFactory.create(cardId).getName() : "card #" + cardId;
+    }
+}
@@ -0,0 +1,148 @@
+package com.wizbiz.wizard_card_game;
+
+import com.wizbiz.wizard_card_game.statuseffects.EffectStore;
+
+import java.util.Arrays;
+
+/**
+ * BattleSnapshot - Flat copy of everything that decides how a match plays out
+ * Both actors (HP, MP, first-turn flag, hand card counts, effect counters), the deck
+ * (card order, position, discard pile, shuffle state), the turn counter, whose
+ * turn it is (and whether it has started) and the AI random stream, laid out like one BattleKernel slot.
+ *
+ * A snapshot is allocated once and reused: capture and restore only copy
+ * primitives, so search code can branch a battle many times per decision.
+ * Restoring and then playing the same actions gives exactly the same match.
+ * Event subscribers and observers are not part of the snapshot; restore does not
+ * replay events, but actor observers are told about the restored values.
+ */
+public final class BattleSnapshot {
+
+    public static final int PLAYER = 0;
+    public static final int ENEMY = 1;
+    private static final int CARD_TYPES = SpellCardFactory.CARD_TYPES;
+    private static final int EFFECT_TYPES = EffectStore.TYPES;
+
+    // Per actor, indexed by side
+    final int[] hp = new int[2];
+    final int[] mp = new int[2];
+    final boolean[] hadFirstTurn = new boolean[2];
+    final int[] handSize = new int[2];
+    final byte[] handCount = new byte[2 * CARD_TYPES];
+    final int[] effectMask = new int[2];
+    final int[] effectTurns = new int[2 * EFFECT_TYPES];
+    final int[] effectMagnitude = new int[2 * EFFECT_TYPES];
+
+    // Deck (filled in by Deck.saveTo)
+    final byte[] deck = new byte[Deck.SIZE];
+    int deckPos;
+    int drawCount;
+    final byte[] discard = new byte[Deck.SIZE];
+    int discardCount;
+    long shuffleState;
+
+    // Match progress
+    int turnCount;
+    boolean enemyToMove;
+    boolean turnPending;
+    boolean matchEnded;
+    long aiState;
+
+    /**
+     * Copies the current state of a started match into this snapshot.
+     */
+    public void capture(GameController gc) {
+        captureActor(gc.getPlayer(), PLAYER);
+        captureActor(gc.getEnemy(), ENEMY);
+        gc.getDeck().saveTo(this);
+        turnCount = gc.getTurnCount();
+        // Between turns (headless stepping) the scheduled turn is the one to move
+        turnPending = gc.isTurnPending();
+        enemyToMove = (turnPending ? gc.getPendingState() : gc.getCurrentState()) instanceof EnemyTurnState;
+        matchEnded = gc.isMatchEnded();
+        aiState = gc.getRandom().ai().getState();
+    }
+
+    /**
+     * Puts a match back to the state captured here. The match must be the one the
+     * snapshot was taken from, or another one started the same way.
+     */
+    public void restore(GameController gc) {
+        restoreActor(gc.getPlayer(), PLAYER);
+        restoreActor(gc.getEnemy(), ENEMY);
+        gc.getDeck().loadFrom(this);
+        gc.getRandom().ai().setState(aiState);
+        gc.restoreProgress(turnCount, enemyToMove, turnPending, matchEnded);
+    }
+
+    /**
+     * Whether two snapshots hold the same position: restoring either one and playing
+     * the same actions gives the same match. Leftovers outside the live parts of the
+     * arrays (drawn cards, inactive effects) are ignored.
+     */
+    public boolean matches(BattleSnapshot other) {
+        if (turnCount != other.turnCount || enemyToMove != other.enemyToMove
+                || turnPending != other.turnPending || matchEnded != other.matchEnded
+                || aiState != other.aiState || shuffleState != other.shuffleState
+                || deckPos != other.deckPos || drawCount != other.drawCount
+                || discardCount != other.discardCount) {
+            return false;
+        }
+        for (int side = PLAYER; side <= ENEMY; side++) {
+            if (hp[side] != other.hp[side] || mp[side] != other.mp[side]
+                    || hadFirstTurn[side] != other.hadFirstTurn[side]
+                    || handSize[side] != other.handSize[side] || effectMask[side] != other.effectMask[side]) {
+                return false;
+            }
+            int hand = side * CARD_TYPES;
+            if (!Arrays.equals(handCount, hand, hand + CARD_TYPES, other.handCount, hand, hand + CARD_TYPES)) {
+                return false;
+            }
+            for (int m = effectMask[side]; m != 0; m &= m - 1) {
+                int i = side * EFFECT_TYPES + Integer.numberOfTrailingZeros(m);
+                if (effectTurns[i] != other.effectTurns[i] || effectMagnitude[i] != other.effectMagnitude[i]) {
+                    return false;
+                }
+            }
+        }
+        return Arrays.equals(deck, deckPos, drawCount, other.deck, deckPos, drawCount)
+                && Arrays.equals(discard, 0, discardCount, other.discard, 0, discardCount);
+    }
+
+    private void captureActor(Actor actor, int side) {
+        hp[side] = actor.getHp();
+        mp[side] = actor.getMp();
+        hadFirstTurn[side] = actor.hasHadFirstTurn();
+        handSize[side] = actor.getHandSize();
+        for (int card = 0; card < CARD_TYPES; card++) {
+            handCount[side * CARD_TYPES + card] = (byte) actor.getHandCount(card);
+        }
+        effectMask[side] = actor.getEffects().copyTo(effectTurns, effectMagnitude, side * EFFECT_TYPES);
+    }
+
+    private void restoreActor(Actor actor, int side) {
+        actor.restore(hp[side], mp[side], hadFirstTurn[side], handCount, side * CARD_TYPES,
+                effectMask[side], effectTurns, effectMagnitude, side * EFFECT_TYPES);
+    }
+
+    // Read access for code that lays the snapshot out elsewhere (BattleKernel.load)
+
+    public int getHp(int side) { return hp[side]; }
+    public int getMp(int side) { return mp[side]; }
+    public boolean hadFirstTurn(int side) { return hadFirstTurn[side]; }
+    public int getHandSize(int side) { return handSize[side]; }
+    public int getHandCount(int side, int card) { return handCount[side * CARD_TYPES + card]; }
+    public int getEffectMask(int side) { return effectMask[side]; }
+    public int getEffectTurns(int side, int type) { return effectTurns[side * EFFECT_TYPES + type]; }
+    public int getEffectMagnitude(int side, int type) { return effectMagnitude[side * EFFECT_TYPES + type]; }
+    public int getDeckCard(int i) { return deck[i]; }
+    public int getDeckPosition() { return deckPos; }
+    public int getDrawCount() { return drawCount; }
+    public int getDiscardCard(int i) { return discard[i]; }
+    public int getDiscardCount() { return discardCount; }
+    public long getShuffleState() { return shuffleState; }
+    public int getTurnCount() { return turnCount; }
+    public boolean isEnemyToMove() { return enemyToMove; }
+    public boolean isTurnPending() { return turnPending; }
+    public long getAiState() { return aiState; }
+}
@@ -4,5 +4,6 @@ package com.wizbiz.wizard_card_game;
 public interface BattleState {
     void enter();
     void nextState();
-    default void castSpell(String spellName) {}
+    default void castSpell(int cardId) {}
+    default void castSpells(int[] cardIds) {}
 }
@@ -1,52 +1,180 @@
 package com.wizbiz.wizard_card_game;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Collections;
+import java.util.SplittableRandom;
+
+import static com.wizbiz.wizard_card_game.SpellCardFactory.*;
 
 /**
  * Deck - Contains all spell cards for the game
  * Both player and enemy draw from this shared deck
+ *
+ * Cards are stored as byte card ids copied from an immutable prototype.
+ * Played cards go to a discard pile, which is shuffled back in when the draw
+ * pile runs out, so the deck never runs dry and drawing never allocates.
  */
 public class Deck {
-    private List<SpellCard> cards = new ArrayList<>();
-
-    public Deck() {
-        // Add variety of spells to the deck
-        cards.addAll(SpellCardFactory.createMultiple("Fireball", 8));
-        cards.addAll(SpellCardFactory.createMultiple("Ice Blast", 6));
-        cards.addAll(SpellCardFactory.createMultiple("Lightning", 4));
-        cards.addAll(SpellCardFactory.createMultiple("Heal", 6));
-        cards.addAll(SpellCardFactory.createMultiple("Poison Cloud", 5));
-        cards.addAll(SpellCardFactory.createMultiple("Drain", 4));
-        cards.addAll(SpellCardFactory.createMultiple("Shield", 5));
-        cards.addAll(SpellCardFactory.createMultiple("Meteor", 3));
-        cards.addAll(SpellCardFactory.createMultiple("Regeneration", 4));
-        cards.addAll(SpellCardFactory.createMultiple("Thunderbolt", 4));
-        cards.addAll(SpellCardFactory.createMultiple("Curse", 5));
-
-        // Shuffle the deck for variety
-        Collections.shuffle(cards);
+
+    // Card ids and copies, in the order the prototype is laid out
+    private static final int[][] COMPOSITION = {
+            {FIREBALL, 8}, {ICE_BLAST, 6}, {LIGHTNING, 4}, {HEAL, 6}, {POISON_CLOUD, 5}, {DRAIN, 4},
+            {SHIELD, 5}, {METEOR, 3}, {REGENERATION, 4}, {THUNDERBOLT, 4}, {CURSE, 5}
+    };
+
+    public static final int SIZE;
+    private static final byte[] PROTOTYPE;
+
+    static {
+        int size = 0;
+        for (int[] entry : COMPOSITION) size += entry[1];
+        SIZE = size;
+        PROTOTYPE = new byte[size];
+        int i = 0;
+        for (int[] entry : COMPOSITION) {
+            for (int c = 0; c < entry[1]; c++) {
+                PROTOTYPE[i++] = (byte) entry[0];
+            }
+        }
     }
 
-    public DeckIterator iterator() {
-        return new DeckIteratorImpl(cards);
+    private final byte[] cards = new byte[SIZE];   // draw pile is cards[position, drawCount)
+    private int position;
+    private int drawCount;
+    private final byte[] discard = new byte[SIZE];
+    private int discardCount;
+    private long shuffleState;
+
+    // Undo history slot writes are reported to (null unless the match journals)
+    private MatchJournal journal;
+
+    public Deck(SplittableRandom rng) {
+        // The deck keeps its own SplitMix64 state, seeded from the match's deck stream,
+        // so reshuffles need no allocation and the whole deck state is plain values
+        shuffleState = rng.nextLong();
+        System.arraycopy(PROTOTYPE, 0, cards, 0, SIZE);
+        drawCount = SIZE;
+        shuffleState = shuffle(cards, 0, SIZE, shuffleState);
     }
 
-    private class DeckIteratorImpl implements DeckIterator {
-        private int index = 0;
-        private List<SpellCard> internal;
+    /**
+     * Copy of the unshuffled card ids, for simulation code that lays out its own decks.
+     */
+    public static byte[] prototype() {
+        return PROTOTYPE.clone();
+    }
 
-        public DeckIteratorImpl(List<SpellCard> cards) {
-            this.internal = cards;
+    /**
+     * In-place Fisher-Yates shuffle of cards[from, from + length) driven by a SplitMix64
+     * state. Returns the advanced state. Shared with BattleKernel so both shuffle alike.
+     */
+    public static long shuffle(byte[] cards, int from, int length, long state) {
+        for (int i = length - 1; i > 0; i--) {
+            state += SplitMix.GAMMA;
+            int j = SplitMix.bounded(state, i + 1);
+            byte tmp = cards[from + i];
+            cards[from + i] = cards[from + j];
+            cards[from + j] = tmp;
         }
+        return state;
+    }
+
+    /**
+     * True while there is anything left to draw, counting the discard pile.
+     */
+    public boolean hasNext() {
+        return position < drawCount || discardCount > 0;
+    }
+
+    /**
+     * Draws the next card id, reshuffling the discard pile in if the draw pile is empty.
+     */
+    public int draw() {
+        if (position == drawCount) reshuffle();
+        return cards[position++];
+    }
+
+    /**
+     * Puts a played card on the discard pile.
+     */
+    public void discard(int cardId) {
+        if (journal != null) journal.discardWritten(discardCount, discard[discardCount], cardId);
+        discard[discardCount++] = (byte) cardId;
+    }
+
+    private void reshuffle() {
+        int mark = journal == null ? -1 : journal.deckWriting(cards, discardCount);
+        System.arraycopy(discard, 0, cards, 0, discardCount);
+        drawCount = discardCount;
+        position = 0;
+        discardCount = 0;
+        shuffleState = shuffle(cards, 0, drawCount, shuffleState);
+        if (mark >= 0) journal.deckWritten(mark, cards);
+    }
+
+    public int remaining() { return drawCount - position; }
+    public int discardSize() { return discardCount; }
+
+    // Snapshot support: the whole deck is these arrays, counters and the shuffle state
 
+    void saveTo(BattleSnapshot s) {
+        System.arraycopy(cards, 0, s.deck, 0, SIZE);
+        System.arraycopy(discard, 0, s.discard, 0, discardCount);
+        s.deckPos = position;
+        s.drawCount = drawCount;
+        s.discardCount = discardCount;
+        s.shuffleState = shuffleState;
+    }
+
+    void loadFrom(BattleSnapshot s) {
+        System.arraycopy(s.deck, 0, cards, 0, SIZE);
+        System.arraycopy(s.discard, 0, discard, 0, s.discardCount);
+        position = s.deckPos;
+        drawCount = s.drawCount;
+        discardCount = s.discardCount;
+        shuffleState = s.shuffleState;
+    }
+
+    // Undo support (MatchJournal): counters as plain values, and unreported slot writes
+
+    static final int COUNTERS = 4;
+
+    void attachJournal(MatchJournal journal) {
+        this.journal = journal;
+    }
+
+    void saveCounters(long[] into, int at) {
+        into[at] = position;
+        into[at + 1] = drawCount;
+        into[at + 2] = discardCount;
+        into[at + 3] = shuffleState;
+    }
+
+    void loadCounters(long[] from, int at) {
+        position = (int) from[at];
+        drawCount = (int) from[at + 1];
+        discardCount = (int) from[at + 2];
+        shuffleState = from[at + 3];
+    }
+
+    void setDiscard(int index, int cardId) {
+        discard[index] = (byte) cardId;
+    }
+
+    void setCards(int[] from, int at, int count) {
+        for (int i = 0; i < count; i++) cards[i] = (byte) from[at + i];
+    }
+
+    public DeckIterator iterator() {
+        return new DeckIteratorImpl();
+    }
+
+    // Iterates the deck itself, so drawing through the iterator also reshuffles
+    private class DeckIteratorImpl implements DeckIterator {
         public boolean hasNext() {
-            return index < internal.size();
+            return Deck.this.hasNext();
         }
 
         public SpellCard next() {
-            return internal.get(index++);
+            return SpellCardFactory.create(draw());
         }
     }
-}
\ No newline at end of file
+}
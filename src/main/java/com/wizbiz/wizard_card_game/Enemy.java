@@ -33,13 +33,13 @@ public class Enemy extends Actor {
      * Add bonus HP to the enemy (for difficulty scaling)
      */
     public void addHp(int bonus) {
-        this.healthPoints += bonus;
+        setHp(getHp() + bonus);
     }
 
     /**
      * Add bonus MP to the enemy (for difficulty scaling)
      */
     public void addMp(int bonus) {
-        this.manaPoints += bonus;
+        setMp(getMp() + bonus);
     }
 }
\ No newline at end of file
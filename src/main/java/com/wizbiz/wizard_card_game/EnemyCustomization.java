@@ -1,6 +1,6 @@
 package com.wizbiz.wizard_card_game;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * EnemyCustomization - Generates enemy appearance based on player's choices
@@ -26,7 +26,14 @@ public class EnemyCustomization {
      * Uses opposite colors and random face (different from player)
      */
     public EnemyCustomization(PlayerCustomization playerCustom) {
-        Random rand = new Random();
+        this(playerCustom, new SplittableRandom(MatchRandom.newSeed()));
+    }
+
+    /**
+     * Generate enemy customization using the match's customization random stream,
+     * so the same match seed always produces the same opponent
+     */
+    public EnemyCustomization(PlayerCustomization playerCustom, SplittableRandom rand) {
 
         // Random face (different from player if possible)
         String[] faces = {"RuggedWarrior", "WiseElder", "YoungProdigy"};
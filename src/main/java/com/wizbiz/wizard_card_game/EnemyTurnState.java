@@ -1,29 +1,30 @@
 package com.wizbiz.wizard_card_game;
 
-import com.wizbiz.wizard_card_game.commands.CastSpellCommand;
 import com.wizbiz.wizard_card_game.commands.DrawCardCommand;
 
 // STATE + COMMAND patterns - enemy AI turn
 public class EnemyTurnState implements BattleState {
-    private final GameController gc = GameController.getInstance();
+    private final GameController gc;
+    // Cards the strategy picked this turn; reused every turn
+    private final int[] chosen = new int[Actor.MAX_HAND_SIZE];
+
+    public EnemyTurnState(GameController gc) {
+        this.gc = gc;
+    }
 
     @Override
     public void enter() {
-        gc.logAction("=== Enemy's turn begins ===");
-        gc.getEnemy().startTurnEffects();
-        gc.executeCommand(new DrawCardCommand(gc.getEnemy(), 1));
+        gc.startTurn(gc.getEnemy());
+        gc.executeCommand(new DrawCardCommand(gc, gc.getEnemy(), 1));
+        if (gc.isMatchOver()) return; // knocked out by a status effect
 
-        String chosen = EnemyAI.chooseBestSpell(gc.getEnemy());
-        if (chosen != null) {
-            gc.executeCommand(new CastSpellCommand(gc.getEnemy(), gc.getPlayer(), chosen));
-        } else {
-            gc.logAction("Enemy has no playable cards!");
-        }
+        int count = gc.getEnemyStrategy().chooseCards(gc, gc.getEnemy(), chosen);
+        gc.playChosen(gc.getEnemy(), chosen, count);
         nextState();
     }
 
     @Override
     public void nextState() {
-        gc.changeState(new PlayerTurnState());
+        gc.changeState(gc.getPlayerTurnState());
     }
 }
\ No newline at end of file
@@ -1,19 +1,38 @@
 package com.wizbiz.wizard_card_game;
 
+import com.wizbiz.wizard_card_game.ai.EnemyStrategy;
+import com.wizbiz.wizard_card_game.ai.RandomStrategy;
+import com.wizbiz.wizard_card_game.commands.BatchPlan;
+import com.wizbiz.wizard_card_game.commands.CastSpellCommand;
 import com.wizbiz.wizard_card_game.commands.Command;
+import com.wizbiz.wizard_card_game.events.GameEvent;
+import com.wizbiz.wizard_card_game.events.GameEventBus;
+import com.wizbiz.wizard_card_game.events.GameEventListener;
+import com.wizbiz.wizard_card_game.events.Side;
 
 import java.util.ArrayList;
 import java.util.List;
-
-// SINGLETON - Central game manager using Observer, Command, and State patterns
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+// Central match engine using Observer, Command, and State patterns.
+// One instance per battle; it owns all of the match state and holds no static
+// state, so independent matches can run side by side on worker threads as long
+// as each instance is only driven by one thread at a time.
 public class GameController {
 
-    // SINGLETON - only one game instance
-    private static GameController instance;
-
-    // STATE PATTERN - current turn
+    // STATE PATTERN - current turn; turn states hold no data, so each match reuses one of each
+    private final PlayerTurnState playerTurn = new PlayerTurnState(this);
+    private final EnemyTurnState enemyTurn = new EnemyTurnState(this);
     private BattleState currentState;
 
+    // Run loop: the next turn to enter, whether the loop is running, and whether
+    // transitions run straight away (UI) or wait for step()/runTurns() (headless)
+    private BattleState pendingState;
+    private boolean running = false;
+    private boolean autoRun = true;
+
     private Player player;
     private Enemy enemy;
     private Deck deck;
@@ -23,27 +42,103 @@ public class GameController {
     // OBSERVER PATTERN - auto-notify observers of changes
     private List<GameObserver> observers = new ArrayList<>();
 
-    private StringBuilder actionLog = new StringBuilder();
+    // Open batches; observers are notified once when the outermost one closes
+    private int batchDepth = 0;
+    private boolean dirty = false;
 
-    // SINGLETON - private constructor
-    private GameController() {}
+    // Typed events for the log, UI and any other subscribers; idle until one attaches
+    private final GameEventBus events = new GameEventBus();
 
-    // SINGLETON - get instance (creates if needed)
-    public static GameController getInstance() {
-        if (instance == null) {
-            synchronized (GameController.class) {
-                if (instance == null) {
-                    instance = new GameController();
-                }
-            }
-        }
-        return instance;
+    // Bounded, so logging costs the same on turn 5 as on turn 500; null until attached
+    private BattleLog battleLog;
+    private BattleLogWriter logWriter;
+    private boolean matchEnded = false;
+
+    // Decisions and keyframes for seeking back through the match; null until attached
+    private MatchRecord record;
+
+    // Seeded per match; every random decision in the match comes from here
+    private final MatchRandom random;
+
+    // Enemy card choice; the classic random AI unless a match or difficulty picks another
+    private EnemyStrategy enemyStrategy = new RandomStrategy();
+    // Player card choice for AI-vs-AI play; null while a human picks the player's cards
+    private EnemyStrategy playerStrategy;
+
+    // Number of turns (player and enemy turns counted separately) started so far
+    private int turnCount = 0;
+
+    // Undo/redo history; off by default so headless matches pay nothing for it
+    private boolean journaling = false;
+    private int journalHistory = MatchJournal.DEFAULT_HISTORY;
+    private MatchJournal journal;
+
+    public GameController() {
+        this(MatchRandom.newSeed());
+    }
+
+    /**
+     * Creates a match whose deck order and AI decisions are fully determined by the seed.
+     */
+    public GameController(long seed) {
+        this.random = new MatchRandom(seed);
     }
 
     public void setUI(GameUI ui) {
         this.ui = ui;
+        attachLog(ui::appendLog);
     }
 
+    // EVENTS - synchronous listeners and asynchronous Flow subscribers
+
+    public void addListener(GameEventListener listener) {
+        events.addListener(listener);
+    }
+
+    /**
+     * Subscribes to this match's events off the engine thread. The subscriber is
+     * completed when the match ends.
+     */
+    public void subscribe(Flow.Subscriber<? super GameEvent> subscriber) {
+        events.subscribe(subscriber);
+    }
+
+    /**
+     * Attaches a text battle log to this match, once, and returns it.
+     * Lines are also passed to the sink if one is given: everything logged during
+     * a batch arrives as one list when the batch closes.
+     */
+    public BattleLog attachLog(Consumer<List<String>> sink) {
+        if (battleLog == null) {
+            battleLog = new BattleLog();
+            logWriter = new BattleLogWriter(battleLog, sink);
+            if (batchDepth > 0) logWriter.hold();
+            events.addListener(logWriter);
+        }
+        return battleLog;
+    }
+
+    public BattleLog attachLog() {
+        return attachLog(null);
+    }
+
+    /**
+     * Attaches a MatchRecord to this match, once, and returns it. Recording starts
+     * at the next turn, so attach before startGameWithCustomizations() to cover the
+     * whole match.
+     */
+    public MatchRecord attachRecord(int interval, int maxKeyframes) {
+        if (record == null) record = new MatchRecord(interval, maxKeyframes);
+        return record;
+    }
+
+    public MatchRecord attachRecord() {
+        return attachRecord(MatchRecord.DEFAULT_INTERVAL, MatchRecord.DEFAULT_MAX_KEYFRAMES);
+    }
+
+    // The attached match record, or null if nothing is recording this match
+    public MatchRecord getRecord() { return record; }
+
     // OBSERVER PATTERN - register/notify observers
 
     public void addObserver(GameObserver observer) {
@@ -58,28 +153,131 @@ public class GameController {
         }
     }
 
+    // Records a state change; observers hear about it now, or when the open batch ends
+    private void markDirty() {
+        if (batchDepth > 0) {
+            dirty = true;
+        } else {
+            notifyObservers();
+        }
+    }
+
+    /**
+     * Opens a batch. Changes made until the matching endBatch() reach observers
+     * as a single notification. Batches nest.
+     */
+    public void beginBatch() {
+        if (batchDepth++ == 0 && logWriter != null) logWriter.hold();
+    }
+
+    /**
+     * Closes a batch. If it was the outermost one, flushes the log lines it wrote to
+     * the log sink in one block and notifies observers once if anything changed.
+     */
+    public void endBatch() {
+        if (batchDepth == 0) throw new IllegalStateException("endBatch() without beginBatch()");
+        if (--batchDepth > 0) return;
+        if (logWriter != null) logWriter.flush();
+        if (dirty) {
+            dirty = false;
+            notifyObservers();
+        }
+    }
+
+    /**
+     * Runs an action as one batch, closing it even if the action throws.
+     */
+    public void runBatch(Runnable action) {
+        beginBatch();
+        try {
+            action.run();
+        } finally {
+            endBatch();
+        }
+    }
+
     // COMMAND PATTERN - execute action commands
 
     public void executeCommand(Command command) {
-        logAction("→ " + command.getDescription());
-        command.execute();
+        if (events.isActive()) events.publish(new GameEvent.CommandExecuted(command.getDescription()));
+        // A command can run a whole turn sequence (end turn runs the enemy's turn)
+        journaled(command.getDescription(), () -> runBatch(command::execute));
+    }
+
+    /**
+     * Runs several commands as one action, such as the casts a wizard queued for
+     * its turn followed by End Turn. Every command is checked first, in order and
+     * against what the ones before it use up (hand copies, MP), and if any cannot
+     * run none does. The batch is one observer notification, one log flush and one
+     * undo step; commands left over after a knockout are skipped.
+     * @throws IllegalArgumentException naming the first command that cannot run
+     */
+    public void executeBatch(List<? extends Command> commands) {
+        BatchPlan plan = new BatchPlan(this);
+        for (Command command : commands) {
+            String problem = plan.isTurnEnded() ? "the turn has already ended" : command.check(plan);
+            if (problem != null) {
+                throw new IllegalArgumentException("Cannot " + command.getDescription() + ": " + problem);
+            }
+        }
+        journaled(journal == null ? null : describe(commands), () -> runBatch(() -> {
+            for (int i = 0; i < commands.size() && !isMatchOver(); i++) {
+                executeCommand(commands.get(i));
+            }
+        }));
+    }
+
+    private static String describe(List<? extends Command> commands) {
+        StringBuilder description = new StringBuilder();
+        for (Command command : commands) {
+            if (description.length() > 0) description.append(", ");
+            description.append(command.getDescription());
+        }
+        return description.toString();
+    }
+
+    // Runs a top-level action as one undo entry; actions nested inside it join that entry
+    // (a null description lets the first command run inside name it)
+    private void journaled(String description, Runnable action) {
+        boolean opened = journal != null && journal.begin(description);
+        try {
+            action.run();
+        } finally {
+            if (opened) journal.end();
+        }
+    }
+
+    /**
+     * Applies the win-streak difficulty scaling to a freshly created pair of wizards.
+     * Both wizards start with mana equal to the difficulty level, and the enemy gets
+     * +20 HP for every level above the first.
+     */
+    public static void applyDifficulty(Player player, Enemy enemy, int difficulty) {
+        player.addStartingMp(difficulty);
+        enemy.addMp(difficulty);
+
+        if (difficulty > 1) {
+            enemy.addHp((difficulty - 1) * 20);
+        }
     }
 
     public void startGameWithCustomizations(Player customPlayer, Enemy customEnemy) {
         player = customPlayer;
         enemy = customEnemy;
 
-        deck = new Deck();
+        deck = new Deck(random.deck());
         deckIterator = deck.iterator();
 
         player.drawCards(deckIterator, 5);
         enemy.drawCards(deckIterator, 5);
 
-        logAction("Game started.");
-        logAction(player.getName() + " vs " + enemy.getName() + "!");
-        logAction("Both wizards drew initial hands.");
+        if (events.isActive()) events.publish(new GameEvent.MatchStarted(player.getName(), enemy.getName()));
+
+        runBatch(() -> changeState(playerTurn));
 
-        changeState(new PlayerTurnState());
+        // History starts at the first turn; the opening draw cannot be taken back
+        journal = journaling ? new MatchJournal(this, journalHistory) : null;
+        attachJournal();
     }
 
     //============================================
@@ -90,21 +288,146 @@ public class GameController {
      * Called when player clicks a spell card.
      * Delegates to current state to handle the action.
      */
+    public void castSpell(int cardId) {
+        // The cast and the enemy's whole reply reach observers as one update, and undo as one step
+        journaled(null, () -> runBatch(() -> currentState.castSpell(cardId)));
+    }
+
     public void castSpell(String spellName) {
-        currentState.castSpell(spellName);
+        castSpell(SpellCardFactory.idOf(spellName));
+    }
+
+    /**
+     * Called when the player submits several queued cards: casts them in order and
+     * ends the turn, checked up front and run as one batch (see executeBatch).
+     * @throws IllegalArgumentException if the hand or MP cannot cover the queue
+     */
+    public void castSpells(int... cardIds) {
+        // executeBatch makes it one undo step once the queue has been checked
+        runBatch(() -> currentState.castSpells(cardIds));
     }
 
     // Getters for UI to display current game state
     public Player getPlayer() { return player; }
     public Enemy getEnemy() { return enemy; }
+    public int getTurnCount() { return turnCount; }
+    public MatchRandom getRandom() { return random; }
+    public EnemyStrategy getEnemyStrategy() { return enemyStrategy; }
+
+    public void setEnemyStrategy(EnemyStrategy enemyStrategy) {
+        this.enemyStrategy = Objects.requireNonNull(enemyStrategy);
+    }
+
+    public EnemyStrategy getPlayerStrategy() { return playerStrategy; }
 
     /**
-     * Logs an action to the battle log and updates the UI.
+     * Lets a strategy play the player's turns too (null hands them back to the UI).
+     */
+    public void setPlayerStrategy(EnemyStrategy playerStrategy) {
+        this.playerStrategy = playerStrategy;
+    }
+
+    /**
+     * The match is over as soon as either wizard is out of health.
+     */
+    public boolean isMatchOver() {
+        return player.getHp() <= 0 || enemy.getHp() <= 0;
+    }
+
+    /**
+     * Returns the winning actor, or null while the match is still running.
+     * A player knockout is checked first, matching the UI's defeat-before-victory order.
+     */
+    public Actor getWinner() {
+        if (player.getHp() <= 0) return enemy;
+        if (enemy.getHp() <= 0) return player;
+        return null;
+    }
+
+    // The attached battle log, or null if nothing is logging this match
+    public BattleLog getBattleLog() { return battleLog; }
+
+    // Retained log entries, one per line (empty without an attached log)
+    public String getActionLog() {
+        return battleLog == null ? "" : battleLog.toString();
+    }
+
+    /**
+     * Publishes a free-form message to the battle log.
      */
     public void logAction(String text) {
-        actionLog.append(text).append("\n");
-        // Update UI immediately if present
-        if (ui != null) ui.updateLog(actionLog.toString());
+        if (events.isActive()) events.publish(new GameEvent.Message(text));
+    }
+
+    public Side sideOf(Actor actor) {
+        return actor == player ? Side.PLAYER : Side.ENEMY;
+    }
+
+    public Actor opponentOf(Actor actor) {
+        return actor == player ? enemy : player;
+    }
+
+    //============================================
+    // Methods used by turn states
+    //============================================
+
+    /**
+     * Starts an actor's turn: announces it, then applies mana gain and status effect ticks.
+     */
+    public void startTurn(Actor actor) {
+        if (!events.isActive()) {
+            actor.startTurnEffects();
+        } else {
+            Side side = sideOf(actor);
+            events.publish(new GameEvent.TurnStarted(side, turnCount));
+            boolean ticking = !actor.getEffects().isEmpty();
+            int hp = actor.getHp();
+            int mp = actor.getMp();
+            actor.startTurnEffects();
+            if (ticking) {
+                events.publish(new GameEvent.EffectTicked(side, actor.getHp() - hp, actor.getMp() - mp));
+            }
+        }
+        checkMatchEnd();
+    }
+
+    /**
+     * Plays what a strategy chose for the wizard whose turn it is: nothing (announced),
+     * one card as a single command, or several as one checked batch.
+     */
+    void playChosen(Actor caster, int[] cardIds, int count) {
+        if (count == 0) {
+            noPlayableCards(caster);
+        } else if (count == 1) {
+            executeCommand(new CastSpellCommand(this, caster, opponentOf(caster), cardIds[0]));
+        } else {
+            List<Command> casts = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                casts.add(new CastSpellCommand(this, caster, opponentOf(caster), cardIds[i]));
+            }
+            executeBatch(casts);
+        }
+    }
+
+    /**
+     * Announces that an actor had nothing to play this turn.
+     */
+    public void noPlayableCards(Actor actor) {
+        if (record != null) record.decided(this);
+        if (events.isActive()) events.publish(new GameEvent.NoPlayableCards(sideOf(actor)));
+    }
+
+    // Publishes MatchEnded the first time a knockout is seen, then completes subscribers
+    private void checkMatchEnd() {
+        if (matchEnded || !isMatchOver()) return;
+        matchEnded = true;
+        if (record != null) record.matchEnded(this);
+        if (events.isActive()) {
+            Actor winner = getWinner();
+            events.publish(new GameEvent.MatchEnded(
+                    player.getHp() <= 0 && enemy.getHp() <= 0 ? null : sideOf(winner), turnCount));
+        }
+        events.close();
     }
 
     //============================================
@@ -116,44 +439,263 @@ public class GameController {
      */
     public void drawForActor(Actor actor, int count) {
         if (deckIterator == null) return;
+        int before = actor.getHandSize();
         actor.drawCards(deckIterator, count);
-        logAction((actor instanceof Player ? "Player" : "Enemy") + " drew " + count + " card(s).");
-        notifyObservers(); // Observer Pattern - notify all observers
+        if (events.isActive()) events.publish(new GameEvent.CardDrawn(sideOf(actor), actor.getHandSize() - before));
+        markDirty(); // Observer Pattern - notify all observers
     }
 
     /**
      * Attempts to play a card from an actor's hand against a target.
-     * Searches hand for matching card, removes it, and casts the spell.
+     * Takes one copy of the card with the given id out of the hand and casts the spell.
      * Returns true if a matching card was found and played successfully.
      */
-    public boolean playCard(Actor actor, String cardName, Actor target) {
-        SpellCard playedCard = null;
-        for (SpellCard c : actor.getHand()) {
-            if (c.getName().equals(cardName)) {
-                playedCard = c;
-                break;
-            }
-        }
-        if (playedCard == null) {
-            logAction((actor instanceof Player ? "Player" : "Enemy") + " attempted to play: " + cardName + " (no matching card in hand)");
+    public boolean playCard(Actor actor, int cardId, Actor target) {
+        if (cardId < 0 || cardId >= SpellCardFactory.CARD_TYPES || !actor.removeCard(cardId)) {
+            if (events.isActive()) events.publish(new GameEvent.PlayFailed(sideOf(actor), cardId));
             return false;
         }
+        SpellCard playedCard = SpellCardFactory.create(cardId);
+        if (record != null) record.cast(this, cardId);
 
-        actor.getHand().remove(playedCard);
-        logAction((actor instanceof Player ? "Player" : "Enemy") + " played: " + playedCard.getName());
+        deck.discard(cardId);
+        boolean affordable = actor.hasMp(playedCard.getManaCost());
+        int targetHp = target.getHp();
         playedCard.getSpell().cast(actor, target);
-        notifyObservers();
+        if (events.isActive()) {
+            events.publish(affordable
+                    ? new GameEvent.SpellCast(sideOf(actor), cardId, targetHp - target.getHp())
+                    : new GameEvent.SpellFizzled(sideOf(actor), cardId));
+        }
+        checkMatchEnd();
+        markDirty();
         return true;
     }
 
+    public boolean playCard(Actor actor, String cardName, Actor target) {
+        return playCard(actor, SpellCardFactory.idOf(cardName), target);
+    }
+
     // STATE PATTERN - manage turn transitions
 
+    /**
+     * Schedules the next turn. States call this from enter() or an action, and the
+     * run loop enters the new state once the caller has returned, so turns follow
+     * each other in a loop instead of nesting on the stack. With auto-run on (the
+     * default) the loop starts here; otherwise the turn waits for step() or runTurns().
+     */
     public void changeState(BattleState state) {
-        currentState = state;
-        currentState.enter();
+        // Nothing is scheduled after a knockout, however the match is being driven
+        if (isMatchOver()) {
+            pendingState = null;
+            return;
+        }
+        pendingState = state;
+        if (autoRun && !running) runLoop(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Enters the next scheduled turn, if there is one. Returns whether a turn ran.
+     */
+    public boolean step() {
+        return runTurns(1) == 1;
+    }
+
+    /**
+     * Enters up to {@code turns} scheduled turns and returns how many ran. Stops early
+     * when the match ends or a turn waits for the player's input.
+     */
+    public int runTurns(int turns) {
+        if (running) throw new IllegalStateException("The run loop is already running");
+        return runLoop(turns);
+    }
+
+    /**
+     * Runs scheduled turns until the match ends or a turn waits for the player's input.
+     */
+    public int runUntilEnd() {
+        return runTurns(Integer.MAX_VALUE);
+    }
+
+    /**
+     * With auto-run off, scheduled turns only run from step(), runTurns() or
+     * runUntilEnd(), so a headless driver decides how far a match goes.
+     */
+    public void setAutoRun(boolean autoRun) {
+        this.autoRun = autoRun;
+    }
+
+    // Each pass enters one turn; the turn's own changeState() only schedules the next
+    private int runLoop(int turns) {
+        int entered = 0;
+        running = true;
+        boolean opened = false;
+        beginBatch();
+        try {
+            while (pendingState != null && entered < turns) {
+                if (record != null) record.turnBoundary(this);
+                // No further turns start once a wizard is down
+                if (isMatchOver()) {
+                    pendingState = null;
+                    break;
+                }
+                // Turns run from step()/runTurns() are one undo entry; inside a command they join its entry
+                if (journal != null && !opened) opened = journal.begin("Run turns");
+                currentState = pendingState;
+                pendingState = null;
+                turnCount++;
+                entered++;
+                currentState.enter();
+            }
+        } finally {
+            running = false;
+            endBatch();
+            if (opened) journal.end();
+        }
+        return entered;
     }
 
     public BattleState getCurrentState() {
         return currentState;
     }
+
+    // Whether a turn is scheduled but not yet entered
+    public boolean isTurnPending() {
+        return pendingState != null;
+    }
+
+    //============================================
+    // Undo / redo (MatchJournal)
+    //============================================
+
+    /**
+     * Turns the undo history on or off. It takes effect from the next
+     * startGameWithCustomizations(), or straight away for a match already under way.
+     * The last 256 actions can be undone; older ones are forgotten.
+     */
+    public void setJournaling(boolean journaling) {
+        setJournaling(journaling, MatchJournal.DEFAULT_HISTORY);
+    }
+
+    /**
+     * Same, keeping the last {@code history} actions undoable.
+     */
+    public void setJournaling(boolean journaling, int history) {
+        if (history < 1) throw new IllegalArgumentException("history must be at least 1");
+        this.journaling = journaling;
+        this.journalHistory = history;
+        if (player == null) return;
+        journal = journaling ? new MatchJournal(this, journalHistory) : null;
+        attachJournal();
+    }
+
+    public boolean isJournaling() { return journaling; }
+
+    public boolean canUndo() { return journal != null && !running && journal.canUndo(); }
+    public boolean canRedo() { return journal != null && !running && journal.canRedo(); }
+
+    /**
+     * Takes back the last action (a cast or end of turn together with the enemy turn it
+     * ran, or the turns one step()/runTurns() ran). Costs only what that action changed.
+     * Returns false if there is nothing to undo. Event subscribers completed by the end
+     * of the match stay completed.
+     */
+    public boolean undo() {
+        checkIdle();
+        if (!canUndo()) return false;
+        String description = journal.undoDescription();
+        if (record != null) record.close();
+        runBatch(() -> {
+            journal.undo();
+            markDirty();
+        });
+        logAction("Undo: " + description);
+        return true;
+    }
+
+    /**
+     * Plays the last undone action again, with the same outcome. Any new action
+     * after an undo discards what could have been redone.
+     */
+    public boolean redo() {
+        checkIdle();
+        if (!canRedo()) return false;
+        String description = journal.redoDescription();
+        if (record != null) record.close();
+        runBatch(() -> {
+            journal.redo();
+            markDirty();
+        });
+        logAction("Redo: " + description);
+        return true;
+    }
+
+    /**
+     * Undoes actions until the turn counter is at most {@code turn}, or the history
+     * runs out. Returns how many actions were undone.
+     */
+    public int rewindToTurn(int turn) {
+        checkIdle();
+        int undone = 0;
+        while (canUndo() && turnCount > turn) {
+            undo();
+            undone++;
+        }
+        return undone;
+    }
+
+    private void checkIdle() {
+        if (running || (journal != null && journal.isRecording())) {
+            throw new IllegalStateException("Cannot undo or redo while the match is running");
+        }
+    }
+
+    // Null while journaling is off
+    MatchJournal getJournal() { return journal; }
+
+    private void attachJournal() {
+        player.attachJournal(journal, 0);
+        enemy.attachJournal(journal, 1);
+        deck.attachJournal(journal);
+    }
+
+    // Puts the turn bookkeeping back exactly as the journal recorded it
+    void restoreTurn(int turnCount, boolean matchEnded, BattleState current, BattleState pending) {
+        this.turnCount = turnCount;
+        this.matchEnded = matchEnded;
+        this.currentState = current;
+        this.pendingState = pending;
+    }
+
+    public PlayerTurnState getPlayerTurnState() { return playerTurn; }
+    public EnemyTurnState getEnemyTurnState() { return enemyTurn; }
+
+    //============================================
+    // Snapshot support (BattleSnapshot)
+    //============================================
+
+    Deck getDeck() { return deck; }
+    BattleState getPendingState() { return pendingState; }
+    boolean isMatchEnded() { return matchEnded; }
+
+    /**
+     * Puts the turn bookkeeping back without entering any state, so nothing is replayed
+     * or published. {@code enemyToMove} is the side that acts next: the scheduled turn
+     * if {@code turnPending}, otherwise the turn in progress.
+     */
+    void restoreProgress(int turnCount, boolean enemyToMove, boolean turnPending, boolean matchEnded) {
+        // The whole match was overwritten, so earlier history no longer applies
+        if (journal != null) journal.clear();
+        if (record != null) record.close();
+        this.turnCount = turnCount;
+        this.matchEnded = matchEnded;
+        BattleState toMove = enemyToMove ? enemyTurn : playerTurn;
+        if (turnPending) {
+            pendingState = toMove;
+            currentState = turnCount == 0 ? null : enemyToMove ? playerTurn : enemyTurn;
+        } else {
+            pendingState = null;
+            currentState = toMove;
+        }
+    }
 }
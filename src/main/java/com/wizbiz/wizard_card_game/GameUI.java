@@ -2,15 +2,17 @@ package com.wizbiz.wizard_card_game;
 
 import javafx.animation.*;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.control.TextArea;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.effect.*;
+import javafx.scene.input.KeyCode;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.CycleMethod;
@@ -23,17 +25,23 @@ import javafx.scene.text.FontWeight;
 import javafx.scene.text.FontPosture;
 import javafx.stage.Stage;
 import javafx.util.Duration;
+import com.wizbiz.wizard_card_game.ai.EnemyStrategy;
+import com.wizbiz.wizard_card_game.ai.SpeculativeStrategy;
 import com.wizbiz.wizard_card_game.commands.EndTurnCommand;
 
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
 // Main UI for the Wizard Card Game - handles visuals and player interactions
 // Implements Observer Pattern for automatic updates
-public class GameUI extends Application implements GameObserver {
+public class GameUI extends Application implements GameObserver, ActorObserver {
 
     private static final double WINDOW_WIDTH = 900;
     private static final double WINDOW_HEIGHT = 750;
@@ -44,7 +52,29 @@ public class GameUI extends Application implements GameObserver {
     private static final double SPACING_MEDIUM = 15;
     private static final double SPACING_SMALL = 10;
 
-    private final GameController gc = GameController.getInstance();
+    // Written on the FX thread; read by actor callbacks on the engine thread
+    private volatile GameController gc;
+
+    // Every call that plays the match runs on this single thread, so AI thinking never
+    // blocks rendering. The FX thread reads the controller only while the engine is idle.
+    private final ExecutorService engine = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "battle-engine");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Works out the enemy's replies while the player is still choosing a card
+    private final ExecutorService speculation = Executors.newFixedThreadPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1), task -> {
+                Thread thread = new Thread(task, "enemy-speculation");
+                thread.setDaemon(true);
+                return thread;
+            });
+    // FX thread only: the current battle's enemy strategy
+    private SpeculativeStrategy enemyStrategy;
+    // FX thread only: set while an engine task runs; input is ignored meanwhile
+    private boolean engineBusy = false;
+    private final HBox thinkingBox = new HBox(SPACING_SMALL);
+    private final PauseTransition thinkingDelay = new PauseTransition(Duration.millis(150));
 
     private Label playerHpLabel = new Label("100");
     private Label playerMpLabel = new Label("0");
@@ -56,7 +86,8 @@ public class GameUI extends Application implements GameObserver {
     private ProgressBar enemyHpBar = new ProgressBar(1.0);
     private ProgressBar enemyMpBar = new ProgressBar(0.0);
 
-    private TextArea logArea = new TextArea();
+    // Virtualized, append-only view of the current battle's log, capped like BattleLog
+    private ListView<String> logList = new ListView<>();
     private HBox handPane = new HBox(SPACING_MEDIUM);
     private Button endTurnBtn = new Button("END TURN");
 
@@ -74,7 +105,34 @@ public class GameUI extends Application implements GameObserver {
     private boolean gameEnded = false;
     private int winStreak = 0;
     private int currentDifficulty = 1;
-    private int lastHandSize = -1;
+
+    // Parts of the battle screen to redraw at the next refresh
+    private static final int DIRTY_PLAYER_HP = 1;
+    private static final int DIRTY_PLAYER_MP = 2;
+    private static final int DIRTY_ENEMY_HP = 4;
+    private static final int DIRTY_ENEMY_MP = 8;
+    private static final int DIRTY_HAND = 16;
+    private static final int DIRTY_ALL = 31;
+
+    // Latest values for the battle screen, written by actor callbacks on the engine
+    // thread and picked up by the FX thread's next refresh; all guarded by viewLock
+    private final Object viewLock = new Object();
+    private int dirty = DIRTY_ALL;
+    private boolean refreshPending = false;
+    private int viewPlayerHp;
+    private int viewPlayerMp;
+    private int viewEnemyHp;
+    private int viewEnemyMp;
+    private SpellCard[] viewHand = new SpellCard[0];
+
+    // Cards currently shown in handPane, in order
+    private final List<SpellCard> renderedHand = new ArrayList<>();
+
+    // Multi-cast: Shift+click queues a card for this turn (again to take it back); the
+    // next plain click or END TURN casts the queue in order as one checked batch
+    private final List<SpellCard> queuedCards = new ArrayList<>();
+    private final List<VBox> queuedBoxes = new ArrayList<>();
+    private int queuedMp;
 
     @Override
     public void start(Stage stage) {
@@ -83,6 +141,12 @@ public class GameUI extends Application implements GameObserver {
         showCustomizationScreen();
     }
 
+    @Override
+    public void stop() {
+        engine.shutdownNow();
+        speculation.shutdownNow();
+    }
+
     private void showCustomizationScreen() {
         winStreak = 0;
         currentDifficulty = 1;
@@ -157,7 +221,6 @@ public class GameUI extends Application implements GameObserver {
             if (name.isEmpty()) name = "Wizard";
             playerCustomization = new PlayerCustomization(parseFace(faceCombo.getValue()), parseHat(hatCombo.getValue()),
                 parseRobe(robeCombo.getValue()), parseStaff(staffCombo.getValue()), name);
-            enemyCustomization = new EnemyCustomization(playerCustomization);
             startBattle();
         });
 
@@ -199,13 +262,22 @@ public class GameUI extends Application implements GameObserver {
     }
 
     private void startBattle() {
-        startBattle(false);
-    }
-
-    private void startBattle(boolean isContinuation) {
         gameEnded = false;
-        lastHandSize = -1;
-        if (isContinuation) enemyCustomization = new EnemyCustomization(playerCustomization);
+        handPane.getChildren().clear();
+        renderedHand.clear();
+        clearQueue();
+
+        // Each battle gets its own engine instance; the new opponent is rolled from its seed
+        GameController match = new GameController();
+        gc = match;
+        // Above the first level the enemy also thinks harder, not just tougher
+        if (enemyStrategy != null) enemyStrategy.cancel();
+        enemyStrategy = new SpeculativeStrategy(EnemyStrategy.forDifficulty(currentDifficulty), speculation);
+        gc.setEnemyStrategy(enemyStrategy);
+        // Practice aid: Ctrl+Z / Ctrl+Y take back or replay the last card and the enemy's reply
+        gc.setJournaling(true);
+        logList.getItems().clear();
+        enemyCustomization = new EnemyCustomization(playerCustomization, gc.getRandom().customization());
 
         // Preserve full screen and maximized states
         boolean wasFullScreen = primaryStage.isFullScreen();
@@ -239,13 +311,27 @@ public class GameUI extends Application implements GameObserver {
         root.getChildren().addAll(mainLayout, animationPane);
 
         endTurnBtn.setOnAction(e -> {
-            if (!gameEnded) {
-                gc.executeCommand(new EndTurnCommand(gc.getCurrentState()));
+            if (!gameEnded && !engineBusy) {
+                if (!queuedCards.isEmpty()) {
+                    castQueued(null);
+                } else {
+                    BattleState turn = gc.getCurrentState();
+                    runOnEngine(() -> match.executeCommand(new EndTurnCommand(turn)));
+                }
                 playTurnTransitionAnimation();
             }
         });
 
         Scene scene = new Scene(root, sceneWidth, sceneHeight);
+        scene.setOnKeyPressed(e -> {
+            if (gameEnded || engineBusy || !e.isShortcutDown()) return;
+            if (e.getCode() == KeyCode.Z && match.canUndo()) {
+                clearQueue();
+                runOnEngine(match::undo);
+            } else if (e.getCode() == KeyCode.Y && match.canRedo()) {
+                runOnEngine(match::redo);
+            }
+        });
         primaryStage.setScene(scene);
 
         // Restore full screen and maximized states
@@ -265,18 +351,13 @@ public class GameUI extends Application implements GameObserver {
         Player customPlayer = new Player(playerCustomization);
         Enemy customEnemy = new Enemy(enemyCustomization);
 
-        // Both wizards start with mana equal to current round (1 mana in round 1, 2 in round 2, etc.)
-        customPlayer.addStartingMp(currentDifficulty);
-        customEnemy.addMp(currentDifficulty);
+        // Both wizards start with mana equal to current round, enemy gets HP bonus for higher difficulties
+        GameController.applyDifficulty(customPlayer, customEnemy, currentDifficulty);
+        customPlayer.addObserver(this);
+        customEnemy.addObserver(this);
 
-        // Enemy gets HP bonus for higher difficulties
-        if (currentDifficulty > 1) {
-            int hpBonus = (currentDifficulty - 1) * 20;
-            customEnemy.addHp(hpBonus);
-        }
-
-        gc.startGameWithCustomizations(customPlayer, customEnemy);
-        refreshUI();
+        // The opening draw runs on the engine too; the screen fills in when it finishes
+        runOnEngine(() -> match.startGameWithCustomizations(customPlayer, customEnemy), true);
 
         playFadeIn(root);
     }
@@ -566,14 +647,22 @@ public class GameUI extends Application implements GameObserver {
         logLabel.setTextFill(Color.web("#FFD700"));
         logLabel.setEffect(createGlowEffect(Color.web("#FFA500"), 10, 0.4));
 
-        logArea.setEditable(false);
-        logArea.setPrefHeight(80);
-        logArea.setWrapText(true);
-        logArea.setStyle(
+        logList.setFocusTraversable(false);
+        logList.setPrefHeight(80);
+        logList.setFixedCellSize(18);
+        logList.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(String entry, boolean empty) {
+                super.updateItem(entry, empty);
+                setText(empty ? null : entry);
+                setTextFill(Color.web("#00FF00"));
+                setFont(Font.font("Courier New", 12));
+                setStyle("-fx-background-color: transparent; -fx-padding: 0 6 0 6;");
+            }
+        });
+        logList.setStyle(
                 "-fx-control-inner-background: rgba(26, 26, 46, 0.9);" +
-                        "-fx-text-fill: #00FF00;" +
-                        "-fx-font-family: 'Courier New';" +
-                        "-fx-font-size: 12px;" +
+                        "-fx-background-color: rgba(26, 26, 46, 0.9);" +
                         "-fx-border-color: linear-gradient(to right, #FFD700, #FFA500, #FFD700);" +
                         "-fx-border-width: 2;" +
                         "-fx-border-radius: 10;" +
@@ -607,10 +696,10 @@ public class GameUI extends Application implements GameObserver {
             }
         });
 
-        HBox btnBox = new HBox(endTurnBtn);
+        HBox btnBox = new HBox(SPACING_MEDIUM, endTurnBtn, createThinkingIndicator());
         btnBox.setAlignment(Pos.CENTER);
 
-        bottom.getChildren().addAll(logLabel, logArea, btnBox);
+        bottom.getChildren().addAll(logLabel, logList, btnBox);
         return bottom;
     }
 
@@ -746,7 +835,7 @@ public class GameUI extends Application implements GameObserver {
         // Buttons - three options
         Button continueBtn = createActionButton("CONTINUE YOUR JOURNEY", "#32CD32", "#228B22");
         continueBtn.setOnAction(e -> {
-            startBattle(true);
+            startBattle();
         });
 
         Button newWizardBtn = createActionButton("CREATE NEW WIZARD", "#4169E1", "#1E3A8A");
@@ -1548,7 +1637,7 @@ public class GameUI extends Application implements GameObserver {
         manaText.setFont(Font.font("Georgia", FontWeight.BOLD, 11));
         manaText.setTextFill(Color.CYAN);
 
-        Label manaLabel = new Label(String.valueOf(card.getSpell().getManaCost()));
+        Label manaLabel = new Label(String.valueOf(card.getManaCost()));
         manaLabel.setFont(Font.font("Georgia", FontWeight.BOLD, 13));
         manaLabel.setTextFill(Color.CYAN);
 
@@ -1595,15 +1684,67 @@ public class GameUI extends Application implements GameObserver {
         });
 
         cardBox.setOnMouseClicked(e -> {
-            if (!gameEnded && gc.getPlayer().hasMp(card.getSpell().getManaCost())) {
+            if (gameEnded || engineBusy) return;
+            if (e.isShiftDown()) {
+                toggleQueued(card, cardBox);
+            } else if (queuedBoxes.contains(cardBox)) {
+                // A plain click on a queued card submits the queue as it stands
+                playSpellCastAnimation(card.getName());
+                castQueued(null);
+            } else if (gc.getPlayer().hasMp(queuedMp + card.getManaCost())) {
                 playSpellCastAnimation(card.getName());
-                gc.castSpell(card.getName());
+                if (queuedCards.isEmpty()) {
+                    GameController match = gc;
+                    runOnEngine(() -> match.castSpell(card.getId()));
+                } else {
+                    castQueued(card);
+                }
             }
         });
 
         return cardBox;
     }
 
+    // Queues a card if the queue can still pay for it, or takes it back out; queued cards sit raised
+    private void toggleQueued(SpellCard card, VBox cardBox) {
+        int at = queuedBoxes.indexOf(cardBox);
+        if (at >= 0) {
+            queuedBoxes.remove(at);
+            queuedCards.remove(at);
+            queuedMp -= card.getManaCost();
+            cardBox.setTranslateY(0);
+        } else if (gc.getPlayer().hasMp(queuedMp + card.getManaCost())) {
+            queuedBoxes.add(cardBox);
+            queuedCards.add(card);
+            queuedMp += card.getManaCost();
+            cardBox.setTranslateY(-15);
+        }
+    }
+
+    // Casts the queued cards, then {@code last} if given, and ends the turn
+    private void castQueued(SpellCard last) {
+        int[] cards = new int[queuedCards.size() + (last == null ? 0 : 1)];
+        for (int i = 0; i < queuedCards.size(); i++) cards[i] = queuedCards.get(i).getId();
+        if (last != null) cards[cards.length - 1] = last.getId();
+        clearQueue();
+        GameController match = gc;
+        runOnEngine(() -> {
+            try {
+                match.castSpells(cards);
+            } catch (IllegalArgumentException ex) {
+                // The queue no longer fits the hand or MP; nothing was cast
+                match.logAction(ex.getMessage());
+            }
+        });
+    }
+
+    private void clearQueue() {
+        for (VBox cardBox : queuedBoxes) cardBox.setTranslateY(0);
+        queuedBoxes.clear();
+        queuedCards.clear();
+        queuedMp = 0;
+    }
+
     private String getCardColor(String spellName) {
         switch (spellName) {
             case "Fireball":
@@ -1680,50 +1821,87 @@ public class GameUI extends Application implements GameObserver {
             case "Thunderbolt":
                 return "THUNDERBOLT\n\nDeal 18 damage and inflict Stun.\n\nStun: Disrupts enemy mana for 1 turn.\n\n\"Strike with lightning!\"";
             case "Curse":
-                return "CURSE\n\nDeal 8 damage and inflict Weaken.\n\nWeaken: Reduces effectiveness for 3 turns.\n\n\"Curse your foe!\"";
+                return "CURSE\n\nDeal 8 damage and inflict Weaken.\n\nWeaken: Enemy spells deal 25% less\ndamage for 3 turns.\n\n\"Curse your foe!\"";
             default:
                 return "A magical spell!";
         }
     }
 
-    public void refreshHandDisplay() {
-        Player p = gc.getPlayer();
-        if (p != null && p.getHand() != null) {
-            int currentHandSize = p.getHand().size();
-            // Only refresh if hand size changed
-            if (currentHandSize != lastHandSize) {
-                handPane.getChildren().clear();
-                int cardCount = Math.min(5, currentHandSize);
-                for (int i = 0; i < cardCount; i++) {
-                    addCardToHand(p.getHand().get(i));
-                }
-                lastHandSize = currentHandSize;
-            }
+    /**
+     * Brings the hand display in line with the player's hand. Cards match by
+     * flyweight identity, so the unchanged prefix is kept and only the cards from
+     * the first difference on are rebuilt - a same-size swap repaints too.
+     */
+    private void refreshHandDisplay(SpellCard[] hand) {
+        int same = 0;
+        int common = Math.min(hand.length, renderedHand.size());
+        while (same < common && hand[same] == renderedHand.get(same)) same++;
+        if (same == hand.length && same == renderedHand.size()) return;
+
+        handPane.getChildren().remove(same, handPane.getChildren().size());
+        renderedHand.subList(same, renderedHand.size()).clear();
+        for (int i = same; i < hand.length; i++) {
+            addCardToHand(hand[i]);
+            renderedHand.add(hand[i]);
         }
     }
 
+    /**
+     * Redraws the whole battle screen. FX thread, while the engine is idle.
+     */
     public void refreshUI() {
         Player p = gc.getPlayer();
         Enemy e = gc.getEnemy();
+        if (p == null || e == null) return;
+        synchronized (viewLock) {
+            viewPlayerHp = p.getHp();
+            viewPlayerMp = p.getMp();
+            viewEnemyHp = e.getHp();
+            viewEnemyMp = e.getMp();
+            viewHand = p.getHand().toArray(new SpellCard[0]);
+            dirty = DIRTY_ALL;
+        }
+        flushUI();
+    }
 
-        if (p != null && e != null) {
-            playerHpLabel.setText(String.valueOf(p.getHp()));
-            playerHpBar.setProgress(p.getHp() / 100.0);
-
-            enemyHpLabel.setText(String.valueOf(e.getHp()));
-            enemyHpBar.setProgress(e.getHp() / 100.0);
-
-            playerMpLabel.setText(String.valueOf(p.getMp()));
-            playerMpBar.setProgress(Math.min(p.getMp() / 10.0, 1.0));
-
-            enemyMpLabel.setText(String.valueOf(e.getMp()));
-            enemyMpBar.setProgress(Math.min(e.getMp() / 10.0, 1.0));
+    // Redraws only the parts marked dirty since the last refresh, from the published values
+    private void flushUI() {
+        int changed;
+        int playerHp, playerMp, enemyHp, enemyMp;
+        SpellCard[] hand;
+        synchronized (viewLock) {
+            changed = dirty;
+            dirty = 0;
+            refreshPending = false;
+            playerHp = viewPlayerHp;
+            playerMp = viewPlayerMp;
+            enemyHp = viewEnemyHp;
+            enemyMp = viewEnemyMp;
+            hand = viewHand;
+        }
 
-            refreshHandDisplay();
-            checkGameEnd();
+        if ((changed & DIRTY_PLAYER_HP) != 0) {
+            playerHpLabel.setText(String.valueOf(playerHp));
+            playerHpBar.setProgress(playerHp / 100.0);
+        }
+        if ((changed & DIRTY_ENEMY_HP) != 0) {
+            enemyHpLabel.setText(String.valueOf(enemyHp));
+            enemyHpBar.setProgress(enemyHp / 100.0);
+        }
+        if ((changed & DIRTY_PLAYER_MP) != 0) {
+            playerMpLabel.setText(String.valueOf(playerMp));
+            playerMpBar.setProgress(Math.min(playerMp / 10.0, 1.0));
+        }
+        if ((changed & DIRTY_ENEMY_MP) != 0) {
+            enemyMpLabel.setText(String.valueOf(enemyMp));
+            enemyMpBar.setProgress(Math.min(enemyMp / 10.0, 1.0));
+        }
+        if ((changed & DIRTY_HAND) != 0) {
+            refreshHandDisplay(hand);
         }
     }
 
+    // FX thread, while the engine is idle
     private void checkGameEnd() {
         if (gameEnded) return;
 
@@ -1739,15 +1917,150 @@ public class GameUI extends Application implements GameObserver {
         }
     }
 
-    public void updateLog(String logText) {
-        logArea.setText(logText);
-        logArea.setScrollTop(Double.MAX_VALUE);
+    //============================================
+    // Engine thread
+    //============================================
+
+    /**
+     * Runs match code on the engine thread with input locked. When it finishes, the
+     * FX thread unlocks input, redraws what the action changed and checks for the end
+     * of the battle, unless a new battle has started in the meantime. If the player is
+     * to move again, the enemy starts on its replies before input unlocks.
+     */
+    private void runOnEngine(Runnable action) {
+        runOnEngine(action, false);
+    }
+
+    // fullRefresh redraws the whole screen, for battle start when nothing is on it yet
+    private void runOnEngine(Runnable action, boolean fullRefresh) {
+        GameController match = gc;
+        SpeculativeStrategy thinker = enemyStrategy;
+        setEngineBusy(true);
+        engine.execute(() -> {
+            try {
+                action.run();
+                thinker.speculate(match);
+            } finally {
+                Platform.runLater(() -> {
+                    if (match != gc) return;
+                    setEngineBusy(false);
+                    if (fullRefresh) {
+                        refreshUI();
+                    } else {
+                        flushUI();
+                    }
+                    checkGameEnd();
+                });
+            }
+        });
+    }
+
+    // Input lock plus the thinking indicator, which only appears if the turn takes a moment
+    private void setEngineBusy(boolean busy) {
+        // Handlers check engineBusy; nodes are not disabled, so quick turns do not flicker
+        engineBusy = busy;
+        if (busy) {
+            thinkingDelay.playFromStart();
+        } else {
+            thinkingDelay.stop();
+            thinkingBox.setVisible(false);
+        }
+    }
+
+    private HBox createThinkingIndicator() {
+        ProgressIndicator spinner = new ProgressIndicator();
+        spinner.setPrefSize(24, 24);
+        Label label = new Label("Enemy is thinking...");
+        label.setFont(Font.font("Georgia", FontPosture.ITALIC, 14));
+        label.setTextFill(Color.web("#FFD700"));
+
+        thinkingBox.getChildren().setAll(spinner, label);
+        thinkingBox.setAlignment(Pos.CENTER_LEFT);
+        thinkingBox.setVisible(false);
+        thinkingDelay.setOnFinished(e -> thinkingBox.setVisible(engineBusy));
+        return thinkingBox;
     }
 
-    // Observer Pattern - auto-update when game changes
+    /**
+     * Appends a block of battle log entries (a whole turn arrives as one block). Old
+     * entries are dropped past the BattleLog capacity, so each call does the same amount
+     * of work however long the session runs. Blocks written on the engine thread are
+     * handed to the FX thread in one go.
+     */
+    public void appendLog(List<String> entries) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> appendLog(entries));
+            return;
+        }
+        var items = logList.getItems();
+        items.addAll(entries);
+        if (items.size() > BattleLog.DEFAULT_CAPACITY) {
+            items.remove(0, items.size() - BattleLog.DEFAULT_CAPACITY);
+        }
+        logList.scrollTo(items.size() - 1);
+    }
+
+    // Observer Pattern - auto-update when game changes (engine thread)
     @Override
     public void update() {
-        refreshUI();
+        scheduleRefresh();
+    }
+
+    // Actor changes publish just the changed value; stale actors from an earlier battle are ignored
+
+    @Override
+    public void hpChanged(Actor actor, int oldHp, int newHp) {
+        GameController match = gc;
+        synchronized (viewLock) {
+            if (actor == match.getPlayer()) {
+                viewPlayerHp = newHp;
+                dirty |= DIRTY_PLAYER_HP;
+            } else if (actor == match.getEnemy()) {
+                viewEnemyHp = newHp;
+                dirty |= DIRTY_ENEMY_HP;
+            } else {
+                return;
+            }
+        }
+        scheduleRefresh();
+    }
+
+    @Override
+    public void mpChanged(Actor actor, int oldMp, int newMp) {
+        GameController match = gc;
+        synchronized (viewLock) {
+            if (actor == match.getPlayer()) {
+                viewPlayerMp = newMp;
+                dirty |= DIRTY_PLAYER_MP;
+            } else if (actor == match.getEnemy()) {
+                viewEnemyMp = newMp;
+                dirty |= DIRTY_ENEMY_MP;
+            } else {
+                return;
+            }
+        }
+        scheduleRefresh();
+    }
+
+    @Override
+    public void handChanged(Actor actor) {
+        // Only the player's hand is shown
+        if (actor != gc.getPlayer()) return;
+        SpellCard[] hand = actor.getHand().toArray(new SpellCard[0]);
+        synchronized (viewLock) {
+            viewHand = hand;
+            dirty |= DIRTY_HAND;
+        }
+        scheduleRefresh();
+    }
+
+    // Coalesced: any number of changes before the next pulse cause a single refresh
+    private void scheduleRefresh() {
+        synchronized (viewLock) {
+            if (refreshPending) return;
+            refreshPending = true;
+        }
+        Platform.runLater(this::flushUI);
     }
 
     // Animations
@@ -0,0 +1,318 @@
+package com.wizbiz.wizard_card_game;
+
+import com.wizbiz.wizard_card_game.statuseffects.EffectStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * MatchJournal - Undo/redo history of a match, kept as per-action deltas
+ * Every top-level action (a command, or turns run by step()/runTurns()) is one entry.
+ * An entry holds the scalar state before and after it (HP, MP, first-turn flags, deck
+ * counters and shuffle state, turn bookkeeping, AI stream) plus a trail of the array
+ * writes made in between: cards moved in and out of hands, deck and discard slots
+ * written, and the before/after image of each effect store it touched. Undo walks the
+ * trail backwards writing old values and redo walks it forwards writing new ones, so
+ * both cost the size of the change, not a copy of the whole match.
+ *
+ * Actors and the deck report their writes here while an entry is open; the journal
+ * itself writes back through package-private setters, which do not report.
+ *
+ * History is capped: past maxEntries the oldest entry is dropped, and the trail is
+ * compacted once the dropped prefix is as long as the live part, so an endless session
+ * holds a bounded history and each action costs amortized constant time to record.
+ */
+final class MatchJournal {
+
+    // Trail ops; every op ends with its own length so the trail can be walked backwards
+    private static final int HAND = 0;        // side, card, delta
+    private static final int DISCARD = 1;     // index, old, new
+    private static final int DECK = 2;        // count, old cards..., new cards...
+    private static final int EFFECTS = 3;     // side, old image, new image (mask + turns + magnitudes)
+    private static final int SHORT_OP = 5;    // HAND and DISCARD: op, three operands, length
+
+    private static final int TYPES = EffectStore.TYPES;
+    private static final int IMAGE = 1 + 2 * TYPES;
+
+    // Scalar layout of Entry.before / Entry.after
+    private static final int HP = 0;          // + side
+    private static final int MP = 2;          // + side
+    private static final int FIRST_TURN = 4;  // + side
+    private static final int DECK_STATE = 6;  // Deck.COUNTERS values
+    private static final int TURN = DECK_STATE + Deck.COUNTERS;
+    private static final int MATCH_ENDED = TURN + 1;
+    private static final int AI = MATCH_ENDED + 1;
+    private static final int SCALARS = AI + 1;
+
+    // Actions that can be undone in a row before the oldest are forgotten
+    static final int DEFAULT_HISTORY = 256;
+
+    private final GameController gc;
+    private final int maxEntries;
+
+    private int[] trail = new int[256];
+    private int trailSize;
+    private final List<Entry> entries = new ArrayList<>();
+    private int applied;  // entries[0, applied) are in effect, the rest can be redone
+
+    private Entry open;
+    private final int[] effectsOp = {-1, -1};  // trail position of each side's EFFECTS op in the open entry
+
+    private final int[] scratchTurns = new int[TYPES];
+    private final int[] scratchMagnitude = new int[TYPES];
+
+    MatchJournal(GameController gc) {
+        this(gc, DEFAULT_HISTORY);
+    }
+
+    MatchJournal(GameController gc, int maxEntries) {
+        if (maxEntries < 1) throw new IllegalArgumentException("maxEntries must be at least 1");
+        this.gc = gc;
+        this.maxEntries = maxEntries;
+    }
+
+    private static final class Entry {
+        String description;
+        int trailFrom;
+        int trailTo;
+        final long[] before = new long[SCALARS];
+        final long[] after = new long[SCALARS];
+        BattleState currentBefore, pendingBefore, currentAfter, pendingAfter;
+
+        Entry(String description, int trailFrom) {
+            this.description = description;
+            this.trailFrom = trailFrom;
+        }
+    }
+
+    //============================================
+    // Recording
+    //============================================
+
+    boolean isRecording() { return open != null; }
+
+    /**
+     * Opens an entry unless one is already open (nested commands join the outer one,
+     * naming it if it has no description yet). Returns whether this call opened it.
+     * Opening drops anything that could be redone.
+     */
+    boolean begin(String description) {
+        if (open != null) {
+            if (open.description == null) open.description = description;
+            return false;
+        }
+        while (entries.size() > applied) entries.remove(entries.size() - 1);
+        trailSize = applied == 0 ? 0 : entries.get(applied - 1).trailTo;
+
+        open = new Entry(description, trailSize);
+        captureScalars(open.before);
+        open.currentBefore = gc.getCurrentState();
+        open.pendingBefore = gc.getPendingState();
+        return true;
+    }
+
+    void end() {
+        for (int side = 0; side < 2; side++) {
+            if (effectsOp[side] >= 0) {
+                writeImage(actor(side).getEffects(), effectsOp[side] + 2 + IMAGE);
+                effectsOp[side] = -1;
+            }
+        }
+        captureScalars(open.after);
+        open.currentAfter = gc.getCurrentState();
+        open.pendingAfter = gc.getPendingState();
+        open.trailTo = trailSize;
+        entries.add(open);
+        applied = entries.size();
+        open = null;
+        // begin() dropped the redo entries, so only applied ones are left to forget
+        if (entries.size() > maxEntries) dropOldest();
+    }
+
+    // Forgets the oldest entry; its trail is reclaimed once the dead prefix is as long as the live part
+    private void dropOldest() {
+        entries.remove(0);
+        applied--;
+        int dead = entries.get(0).trailFrom;
+        if (dead < trailSize - dead) return;
+        System.arraycopy(trail, dead, trail, 0, trailSize - dead);
+        trailSize -= dead;
+        for (Entry e : entries) {
+            e.trailFrom -= dead;
+            e.trailTo -= dead;
+        }
+    }
+
+    void handChanged(int side, int card, int delta) {
+        if (open == null) return;
+        push(HAND, side, card, delta);
+    }
+
+    void discardWritten(int index, int oldCard, int newCard) {
+        if (open == null) return;
+        push(DISCARD, index, oldCard, newCard);
+    }
+
+    /**
+     * Records cards[0, count) before the deck overwrites them; returns a mark for deckWritten, or -1.
+     */
+    int deckWriting(byte[] cards, int count) {
+        if (open == null) return -1;
+        int at = reserve(2 + 2 * count + 1);
+        trail[at] = DECK;
+        trail[at + 1] = count;
+        for (int i = 0; i < count; i++) trail[at + 2 + i] = cards[i];
+        trail[at + 2 + 2 * count] = 2 + 2 * count + 1;
+        return at;
+    }
+
+    void deckWritten(int mark, byte[] cards) {
+        int count = trail[mark + 1];
+        for (int i = 0; i < count; i++) trail[mark + 2 + count + i] = cards[i];
+    }
+
+    /**
+     * Called before an actor's effect store changes; the first call per entry keeps its old image.
+     */
+    void effectsChanging(int side, EffectStore effects) {
+        if (open == null || effectsOp[side] >= 0) return;
+        int at = reserve(2 + 2 * IMAGE + 1);
+        trail[at] = EFFECTS;
+        trail[at + 1] = side;
+        writeImage(effects, at + 2);
+        trail[at + 2 + 2 * IMAGE] = 2 + 2 * IMAGE + 1;
+        effectsOp[side] = at;
+    }
+
+    //============================================
+    // Undo / redo
+    //============================================
+
+    boolean canUndo() { return open == null && applied > 0; }
+    boolean canRedo() { return open == null && applied < entries.size(); }
+    int size() { return applied; }
+    int trailSize() { return trailSize; }
+
+    String undoDescription() { return canUndo() ? entries.get(applied - 1).description : null; }
+    String redoDescription() { return canRedo() ? entries.get(applied).description : null; }
+
+    // Turn counter before the newest applied entry
+    int turnBeforeLast() { return (int) entries.get(applied - 1).before[TURN]; }
+
+    void undo() {
+        Entry e = entries.get(--applied);
+        for (int end = e.trailTo; end > e.trailFrom; ) {
+            int at = end - trail[end - 1];
+            revert(at);
+            end = at;
+        }
+        applyScalars(e.before, e.currentBefore, e.pendingBefore);
+    }
+
+    void redo() {
+        Entry e = entries.get(applied++);
+        for (int at = e.trailFrom; at < e.trailTo; ) {
+            reapply(at);
+            at += trail[at] == DECK ? 2 + 2 * trail[at + 1] + 1 : length(trail[at]);
+        }
+        applyScalars(e.after, e.currentAfter, e.pendingAfter);
+    }
+
+    // The match was changed behind the journal's back (snapshot restore); nothing can be undone
+    void clear() {
+        entries.clear();
+        applied = 0;
+        trailSize = 0;
+        open = null;
+        effectsOp[0] = effectsOp[1] = -1;
+    }
+
+    private void revert(int at) {
+        switch (trail[at]) {
+            case HAND -> actor(trail[at + 1]).adjustHand(trail[at + 2], -trail[at + 3]);
+            case DISCARD -> gc.getDeck().setDiscard(trail[at + 1], trail[at + 2]);
+            case DECK -> gc.getDeck().setCards(trail, at + 2, trail[at + 1]);
+            case EFFECTS -> readImage(actor(trail[at + 1]), at + 2);
+            default -> throw new IllegalStateException("Unknown journal op " + trail[at]);
+        }
+    }
+
+    private void reapply(int at) {
+        switch (trail[at]) {
+            case HAND -> actor(trail[at + 1]).adjustHand(trail[at + 2], trail[at + 3]);
+            case DISCARD -> gc.getDeck().setDiscard(trail[at + 1], trail[at + 3]);
+            case DECK -> gc.getDeck().setCards(trail, at + 2 + trail[at + 1], trail[at + 1]);
+            case EFFECTS -> readImage(actor(trail[at + 1]), at + 2 + IMAGE);
+            default -> throw new IllegalStateException("Unknown journal op " + trail[at]);
+        }
+    }
+
+    private static int length(int op) {
+        return switch (op) {
+            case HAND, DISCARD -> SHORT_OP;
+            case EFFECTS -> 2 + 2 * IMAGE + 1;
+            default -> throw new IllegalStateException("Unknown journal op " + op);
+        };
+    }
+
+    //============================================
+    // State capture
+    //============================================
+
+    private void captureScalars(long[] s) {
+        for (int side = 0; side < 2; side++) {
+            Actor actor = actor(side);
+            s[HP + side] = actor.getHp();
+            s[MP + side] = actor.getMp();
+            s[FIRST_TURN + side] = actor.hasHadFirstTurn() ? 1 : 0;
+        }
+        gc.getDeck().saveCounters(s, DECK_STATE);
+        s[TURN] = gc.getTurnCount();
+        s[MATCH_ENDED] = gc.isMatchEnded() ? 1 : 0;
+        s[AI] = gc.getRandom().ai().getState();
+    }
+
+    private void applyScalars(long[] s, BattleState current, BattleState pending) {
+        for (int side = 0; side < 2; side++) {
+            actor(side).restoreScalars((int) s[HP + side], (int) s[MP + side], s[FIRST_TURN + side] != 0);
+        }
+        gc.getDeck().loadCounters(s, DECK_STATE);
+        gc.getRandom().ai().setState(s[AI]);
+        gc.restoreTurn((int) s[TURN], s[MATCH_ENDED] != 0, current, pending);
+    }
+
+    private void writeImage(EffectStore effects, int at) {
+        trail[at] = effects.copyTo(scratchTurns, scratchMagnitude, 0);
+        System.arraycopy(scratchTurns, 0, trail, at + 1, TYPES);
+        System.arraycopy(scratchMagnitude, 0, trail, at + 1 + TYPES, TYPES);
+    }
+
+    private void readImage(Actor actor, int at) {
+        System.arraycopy(trail, at + 1, scratchTurns, 0, TYPES);
+        System.arraycopy(trail, at + 1 + TYPES, scratchMagnitude, 0, TYPES);
+        actor.restoreEffects(trail[at], scratchTurns, scratchMagnitude);
+    }
+
+    private Actor actor(int side) {
+        return side == 0 ? gc.getPlayer() : gc.getEnemy();
+    }
+
+    private void push(int op, int a, int b, int c) {
+        int at = reserve(SHORT_OP);
+        trail[at] = op;
+        trail[at + 1] = a;
+        trail[at + 2] = b;
+        trail[at + 3] = c;
+        trail[at + 4] = SHORT_OP;
+    }
+
+    private int reserve(int length) {
+        if (trailSize + length > trail.length) {
+            trail = Arrays.copyOf(trail, Math.max(trail.length * 2, trailSize + length));
+        }
+        int at = trailSize;
+        trailSize += length;
+        return at;
+    }
+}
@@ -0,0 +1,54 @@
+package com.wizbiz.wizard_card_game;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * MatchRandom - Per-match seed source built on SplittableRandom
+ * The root generator is split once per subsystem, always in the same order,
+ * so a match can be replayed exactly from its seed and parallel matches never
+ * share random state.
+ */
+public class MatchRandom {
+
+    private final long seed;
+    private final SplittableRandom deck;
+    private final SplitMix ai;
+    private final SplittableRandom customization;
+
+    public MatchRandom(long seed) {
+        this.seed = seed;
+        SplittableRandom root = new SplittableRandom(seed);
+        // Split order is part of the replay contract - append new streams at the end
+        this.deck = root.split();
+        this.ai = new SplitMix(root.split().nextLong());
+        this.customization = root.split();
+    }
+
+    /**
+     * Fresh seed for an unseeded match. Uses the calling thread's generator,
+     * so concurrent matches do not contend on a shared seed source.
+     */
+    public static long newSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Seed for the index-th match of a batch, so a whole batch is reproducible
+     * from one base seed regardless of how it is split across threads.
+     */
+    public static long seedFor(long baseSeed, long index) {
+        return new SplittableRandom(baseSeed + index * 0x9E3779B97F4A7C15L).nextLong();
+    }
+
+    public long getSeed() { return seed; }
+
+    // Stream used to shuffle the deck
+    public SplittableRandom deck() { return deck; }
+
+    // Stream used by AI decisions (both sides in simulations); a SplitMix so snapshots can save it
+    public SplitMix ai() { return ai; }
+
+    // Stream used to roll the enemy's appearance
+    public SplittableRandom customization() { return customization; }
+}
@@ -0,0 +1,241 @@
+package com.wizbiz.wizard_card_game;
+
+import com.wizbiz.wizard_card_game.ai.EnemyStrategy;
+
+import java.util.Arrays;
+
+/**
+ * MatchRecord - A match kept as the stream of decisions made in it, with keyframes to seek by
+ * The engine derives everything from its starting position except two inputs: which
+ * cards were cast (by a human or a strategy) and how far the AI random stream moved
+ * while deciding. GameController appends one entry per cast played through
+ * executeCommand and notes per turn where the AI stream stood after the decision, so
+ * any position is the fold of those entries over an earlier one. A BattleSnapshot
+ * keyframe is taken at the start of every interval-th turn, and seek(turn) restores
+ * the nearest keyframe at or before it and replays at most one interval of turns.
+ *
+ * Keyframes are capped: when the cap is reached every other one is dropped and the
+ * interval doubles, so a long session holds a fixed number of snapshots (seeks get
+ * longer instead) plus a few bytes per turn of decisions. A record follows one line
+ * of play; undo, redo or restoring a snapshot on the match closes it.
+ * Not thread-safe: read it from the thread driving the match, or once it is closed.
+ */
+public final class MatchRecord {
+
+    public static final int DEFAULT_INTERVAL = 16;
+    public static final int DEFAULT_MAX_KEYFRAMES = 32;
+
+    private final int maxKeyframes;
+    private int interval;
+
+    // keyframes[i] was taken with keyframeTurn[i] turns complete and the next one scheduled
+    private final BattleSnapshot[] keyframes;
+    private final int[] keyframeTurn;
+    private int keyframeCount;
+
+    // Casts in play order: cast i was made in turn castTurn[i] and played castCard[i]
+    private int[] castTurn = new int[64];
+    private byte[] castCard = new byte[64];
+    private int castCount;
+
+    // AI stream after the decision of turn firstTurn + i; firstTurn is 0 until recording starts
+    private long[] aiAfter = new long[64];
+    private int firstTurn;
+    private int turns;          // turns entered since recording started
+    private int completeTurns;  // turns known to be over (a later turn was scheduled, or the match ended)
+    private boolean closed;
+
+    // Scratch match that seek() replays on; made on first use
+    private GameController scratch;
+    private final EnemyStrategy replay = new ReplayStrategy();
+
+    public MatchRecord() {
+        this(DEFAULT_INTERVAL, DEFAULT_MAX_KEYFRAMES);
+    }
+
+    /**
+     * @param interval     Turns between keyframes to begin with
+     * @param maxKeyframes Keyframes kept before thinning; at least 2
+     */
+    public MatchRecord(int interval, int maxKeyframes) {
+        if (interval < 1 || maxKeyframes < 2) throw new IllegalArgumentException("interval >= 1 and maxKeyframes >= 2 required");
+        this.interval = interval;
+        this.maxKeyframes = maxKeyframes;
+        this.keyframes = new BattleSnapshot[maxKeyframes];
+        this.keyframeTurn = new int[maxKeyframes];
+    }
+
+    //============================================
+    // Recording (called by GameController)
+    //============================================
+
+    /**
+     * A turn is about to be entered (or the run loop found the match over); every turn
+     * before it is complete. Starts the record at the first call.
+     */
+    void turnBoundary(GameController gc) {
+        if (closed) return;
+        int done = gc.getTurnCount();
+        if (keyframeCount == 0) {
+            firstTurn = done + 1;
+            addKeyframe(gc, done);
+        } else if (done == completeTurns) {
+            return;
+        } else if (done % interval == 0) {
+            addKeyframe(gc, done);
+        }
+        completeTurns = done;
+        if (gc.isMatchOver()) return;
+
+        // The turn being entered; its decision may move the AI stream on later
+        if (turns == aiAfter.length) aiAfter = Arrays.copyOf(aiAfter, turns * 2);
+        aiAfter[turns++] = gc.getRandom().ai().getState();
+    }
+
+    /**
+     * A card was taken from the hand of the wizard whose turn it is and cast.
+     */
+    void cast(GameController gc, int cardId) {
+        if (closed || turns == 0) return;
+        if (castCount == castCard.length) {
+            castTurn = Arrays.copyOf(castTurn, castCount * 2);
+            castCard = Arrays.copyOf(castCard, castCount * 2);
+        }
+        castTurn[castCount] = gc.getTurnCount();
+        castCard[castCount++] = (byte) cardId;
+        decided(gc);
+    }
+
+    /**
+     * The wizard whose turn it is has decided (cast or passed); notes where the AI stream is.
+     */
+    void decided(GameController gc) {
+        if (closed || turns == 0) return;
+        aiAfter[gc.getTurnCount() - firstTurn] = gc.getRandom().ai().getState();
+    }
+
+    /**
+     * A knockout ended the match during the current turn, which is therefore complete.
+     */
+    void matchEnded(GameController gc) {
+        if (closed || turns == 0) return;
+        completeTurns = gc.getTurnCount();
+    }
+
+    /**
+     * Stops recording; what was recorded stays seekable.
+     */
+    void close() {
+        closed = true;
+    }
+
+    private void addKeyframe(GameController gc, int done) {
+        if (keyframeCount == maxKeyframes) {
+            thin();
+            if (done % interval != 0) return;
+        }
+        if (keyframes[keyframeCount] == null) keyframes[keyframeCount] = new BattleSnapshot();
+        keyframes[keyframeCount].capture(gc);
+        keyframeTurn[keyframeCount++] = done;
+    }
+
+    // Doubles the interval and keeps the first keyframe plus those on the new interval
+    private void thin() {
+        interval *= 2;
+        int kept = 1;
+        for (int i = 1; i < keyframeCount; i++) {
+            if (keyframeTurn[i] % interval == 0) {
+                BattleSnapshot keep = keyframes[i];
+                keyframes[i] = keyframes[kept];
+                keyframes[kept] = keep;
+                keyframeTurn[kept++] = keyframeTurn[i];
+            }
+        }
+        keyframeCount = kept;
+    }
+
+    //============================================
+    // Reading
+    //============================================
+
+    public boolean isClosed() { return closed; }
+    public int getInterval() { return interval; }
+    public int getKeyframeCount() { return keyframeCount; }
+    public int getCastCount() { return castCount; }
+
+    // Range of turn counts seek() accepts
+    public int getFirstTurn() { return firstTurn - 1; }
+    public int getLastTurn() { return completeTurns; }
+
+    /**
+     * Turn and card id of cast {@code index}, in play order; the audit trail of the match.
+     */
+    public int getCastTurn(int index) { return castTurn[checkCast(index)]; }
+    public int getCastCard(int index) { return castCard[checkCast(index)]; }
+
+    /**
+     * Rebuilds the position after {@code turn} turns (the next one scheduled but not
+     * entered) into {@code into}: restores the nearest keyframe at or before it and
+     * replays the recorded decisions from there, at most one interval of turns.
+     */
+    public BattleSnapshot seek(int turn, BattleSnapshot into) {
+        if (keyframeCount == 0 || turn < getFirstTurn() || turn > completeTurns) {
+            throw new IllegalArgumentException("Turn " + turn + " is not in the record");
+        }
+        int k = keyframeCount - 1;
+        while (keyframeTurn[k] > turn) k--;
+
+        if (scratch == null) {
+            scratch = new GameController(0L);
+            scratch.setAutoRun(false);
+            scratch.startGameWithCustomizations(new Player(), new Enemy());
+            scratch.setPlayerStrategy(replay);
+            scratch.setEnemyStrategy(replay);
+        }
+        keyframes[k].restore(scratch);
+        scratch.runTurns(turn - keyframeTurn[k]);
+        into.capture(scratch);
+        return into;
+    }
+
+    public BattleSnapshot seek(int turn) {
+        return seek(turn, new BattleSnapshot());
+    }
+
+    // Plays back the casts recorded for the turn the scratch match is in, and moves the AI stream on
+    private final class ReplayStrategy implements EnemyStrategy {
+        @Override
+        public int chooseCard(GameController gc, Actor self) {
+            int turn = gc.getTurnCount();
+            gc.getRandom().ai().setState(aiAfter[turn - firstTurn]);
+            int i = firstCastOf(turn);
+            return i < castCount && castTurn[i] == turn ? castCard[i] : -1;
+        }
+
+        @Override
+        public int chooseCards(GameController gc, Actor self, int[] into) {
+            int turn = gc.getTurnCount();
+            gc.getRandom().ai().setState(aiAfter[turn - firstTurn]);
+            int count = 0;
+            for (int i = firstCastOf(turn); i < castCount && castTurn[i] == turn; i++) {
+                into[count++] = castCard[i];
+            }
+            return count;
+        }
+    }
+
+    // Index of the first cast made in {@code turn} or later
+    private int firstCastOf(int turn) {
+        int lo = 0, hi = castCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (castTurn[mid] < turn) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    private int checkCast(int index) {
+        if (index < 0 || index >= castCount) throw new IndexOutOfBoundsException(index);
+        return index;
+    }
+}
@@ -30,6 +30,6 @@ public class Player extends Actor {
      * Add bonus starting MP to the player (for win streak rewards)
      */
     public void addStartingMp(int bonus) {
-        this.manaPoints += bonus;
+        setMp(getMp() + bonus);
     }
 }
\ No newline at end of file
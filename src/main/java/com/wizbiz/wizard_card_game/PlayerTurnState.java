@@ -1,27 +1,56 @@
 package com.wizbiz.wizard_card_game;
 
+import com.wizbiz.wizard_card_game.ai.EnemyStrategy;
 import com.wizbiz.wizard_card_game.commands.CastSpellCommand;
+import com.wizbiz.wizard_card_game.commands.Command;
 import com.wizbiz.wizard_card_game.commands.DrawCardCommand;
+import com.wizbiz.wizard_card_game.commands.EndTurnCommand;
+
+import java.util.ArrayList;
+import java.util.List;
 
 // STATE + COMMAND patterns - player's turn actions
 public class PlayerTurnState implements BattleState {
-    private final GameController gc = GameController.getInstance();
+    private final GameController gc;
+    // Cards an AI player picked this turn; reused every turn
+    private final int[] chosen = new int[Actor.MAX_HAND_SIZE];
+
+    public PlayerTurnState(GameController gc) {
+        this.gc = gc;
+    }
 
     @Override
     public void enter() {
-        gc.logAction("Player's turn starts.");
-        gc.getPlayer().startTurnEffects();
-        gc.executeCommand(new DrawCardCommand(gc.getPlayer(), 1));
+        gc.startTurn(gc.getPlayer());
+        gc.executeCommand(new DrawCardCommand(gc, gc.getPlayer(), 1));
+
+        // A human player acts through castSpell; an AI player picks its card here
+        EnemyStrategy strategy = gc.getPlayerStrategy();
+        if (strategy == null || gc.isMatchOver()) return;
+        int count = strategy.chooseCards(gc, gc.getPlayer(), chosen);
+        gc.playChosen(gc.getPlayer(), chosen, count);
+        nextState();
     }
 
     @Override
-    public void castSpell(String name) {
-        gc.executeCommand(new CastSpellCommand(gc.getPlayer(), gc.getEnemy(), name));
+    public void castSpell(int cardId) {
+        gc.executeCommand(new CastSpellCommand(gc, gc.getPlayer(), gc.getEnemy(), cardId));
         nextState();
     }
 
+    // Several queued cards and the end of the turn, checked and run as one batch
+    @Override
+    public void castSpells(int[] cardIds) {
+        List<Command> turn = new ArrayList<>(cardIds.length + 1);
+        for (int cardId : cardIds) {
+            turn.add(new CastSpellCommand(gc, gc.getPlayer(), gc.getEnemy(), cardId));
+        }
+        turn.add(new EndTurnCommand(this));
+        gc.executeBatch(turn);
+    }
+
     @Override
     public void nextState() {
-        gc.changeState(new EnemyTurnState());
+        gc.changeState(gc.getEnemyTurnState());
     }
 }
@@ -1,14 +1,19 @@
 package com.wizbiz.wizard_card_game;
 
-import com.wizbiz.wizard_card_game.spells.*;
+import com.wizbiz.wizard_card_game.spells.Spell;
 
+// FLYWEIGHT - one immutable instance per card type, handed out by SpellCardFactory
 public class SpellCard {
-    private Spell spell;
+    private final int id;
+    private final Spell spell;
 
-    public SpellCard(Spell spell) {
+    SpellCard(int id, Spell spell) {
+        this.id = id;
         this.spell = spell;
     }
 
+    public int getId() { return id; }
     public Spell getSpell() { return spell; }
     public String getName() { return spell.getName(); }
+    public int getManaCost() { return spell.getManaCost(); }
 }
@@ -1,57 +1,120 @@
 package com.wizbiz.wizard_card_game;
-import com.wizbiz.wizard_card_game.spells.*;
+import com.wizbiz.wizard_card_game.spells.Spell;
+import com.wizbiz.wizard_card_game.spells.SpellTable;
+import com.wizbiz.wizard_card_game.statuseffects.EffectType;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-// FACTORY METHOD - creates spell cards
+// FACTORY METHOD + FLYWEIGHT - creates spell cards
+// Every card type has a small integer id and exactly one shared, immutable SpellCard,
+// so a deck or hand only holds references to these instances.
 public class SpellCardFactory {
 
-    public static SpellCard create(String name) {
-        switch (name) {
-            case "Fireball":
-                return new SpellCard(new Fireball());
+    // Card ids (also the order the deck is built in)
+    public static final int FIREBALL = 0;
+    public static final int ICE_BLAST = 1;
+    public static final int LIGHTNING = 2;
+    public static final int HEAL = 3;
+    public static final int POISON_CLOUD = 4;
+    public static final int DRAIN = 5;
+    public static final int SHIELD = 6;
+    public static final int METEOR = 7;
+    public static final int REGENERATION = 8;
+    public static final int THUNDERBOLT = 9;
+    public static final int CURSE = 10;
+
+    public static final int CARD_TYPES = 11;
 
-            case "Ice Blast":
-                return new SpellCard(new IceBlast());
+    // What each card does, in card id order
+    private static final SpellTable SPELLS = new SpellTable.Builder()
+            .spell("Fireball", 1).damage(10).apply(EffectType.BURN, 3, 3)
+            .spell("Ice Blast", 2).damage(15).apply(EffectType.FREEZE, 2, 0)
+            .spell("Lightning", 3).damage(25)
+            .spell("Heal", 2).healSelf(20)
+            .spell("Poison Cloud", 2).damage(5).apply(EffectType.POISON, 4, 4)
+            .spell("Drain", 3).damage(12).healSelf(12)
+            .spell("Shield", 2).applySelf(EffectType.SHIELD, 0, 15)
+            .spell("Meteor", 5).damage(35).apply(EffectType.BURN, 2, 3)
+            .spell("Regeneration", 3).applySelf(EffectType.REGEN, 4, 5)
+            .spell("Thunderbolt", 3).damage(18).apply(EffectType.STUN, 1, 0)
+            .spell("Curse", 2).damage(8).apply(EffectType.WEAKEN, 3, 25)
+            .build();
 
-            case "Lightning":
-                return new SpellCard(new Lightning());
+    private static final SpellCard[] CARDS = new SpellCard[CARD_TYPES];
 
-            case "Heal":
-                return new SpellCard(new Heal());
+    // AFFORDABLE[mp]: bit per card id that costs at most mp (mp capped at the top cost)
+    private static final int[] AFFORDABLE;
 
-            case "Poison Cloud":
-                return new SpellCard(new PoisonCloud());
+    private static final Map<String, Integer> IDS_BY_NAME = new HashMap<>();
+
+    static {
+        for (int id = 0; id < CARD_TYPES; id++) {
+            CARDS[id] = new SpellCard(id, new Spell(SPELLS, id));
+            IDS_BY_NAME.put(CARDS[id].getName(), id);
+        }
 
-            case "Drain":
-                return new SpellCard(new Drain());
+        int maxCost = 0;
+        for (int id = 0; id < CARD_TYPES; id++) maxCost = Math.max(maxCost, SPELLS.cost(id));
+        AFFORDABLE = new int[maxCost + 1];
+        for (int mp = 0; mp <= maxCost; mp++) {
+            for (int id = 0; id < CARD_TYPES; id++) {
+                if (SPELLS.cost(id) <= mp) AFFORDABLE[mp] |= 1 << id;
+            }
+        }
+    }
 
-            case "Shield":
-                return new SpellCard(new Shield());
+    /**
+     * The spell definitions the cards are built from (shared with BattleKernel).
+     */
+    public static SpellTable spells() {
+        return SPELLS;
+    }
 
-            case "Meteor":
-                return new SpellCard(new Meteor());
+    /**
+     * Returns the shared card for a spell name, or null if there is no such spell.
+     */
+    public static SpellCard create(String name) {
+        int id = idOf(name);
+        return id < 0 ? null : CARDS[id];
+    }
 
-            case "Regeneration":
-                return new SpellCard(new Regeneration());
+    /**
+     * Returns the shared card for a card id.
+     */
+    public static SpellCard create(int id) {
+        return CARDS[id];
+    }
 
-            case "Thunderbolt":
-                return new SpellCard(new Thunderbolt());
+    /**
+     * Card id for a spell name, or -1 if there is no such spell.
+     */
+    public static int idOf(String name) {
+        Integer id = IDS_BY_NAME.get(name);
+        return id == null ? -1 : id;
+    }
 
-            case "Curse":
-                return new SpellCard(new Curse());
+    public static int manaCost(int id) {
+        return CARDS[id].getManaCost();
+    }
 
-            default:
-                return null;
-        }
+    /**
+     * Bit per card id ({@code 1 << id}) for every card a wizard with {@code mp} mana
+     * can afford. AND it with a hand mask to get the playable card types.
+     */
+    public static int affordableMask(int mp) {
+        if (mp < 0) return 0;
+        return AFFORDABLE[Math.min(mp, AFFORDABLE.length - 1)];
     }
 
+    // Read-only list holding the same shared card several times
     public static List<SpellCard> createMultiple(String name, int copies) {
-        List<SpellCard> list = new ArrayList<>();
-        for (int i = 0; i < copies; i++) {
-            list.add(create(name));
-        }
-        return list;
+        return createMultiple(idOf(name), copies);
+    }
+
+    public static List<SpellCard> createMultiple(int id, int copies) {
+        return Collections.nCopies(copies, CARDS[id]);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package com.wizbiz.wizard_card_game;
+
+/**
+ * SplitMix - SplitMix64 generator whose whole state is a single long
+ * Used for random streams that have to be captured and restored with the rest
+ * of a battle (SplittableRandom keeps its state private). The static helpers let
+ * Deck and BattleKernel run the same stream over plain long fields.
+ */
+public final class SplitMix {
+
+    public static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    public SplitMix(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Uniform int in [0, bound).
+     */
+    public int nextInt(int bound) {
+        state += GAMMA;
+        return bounded(state, bound);
+    }
+
+    public long nextLong() {
+        return mix64(state += GAMMA);
+    }
+
+    public long getState() { return state; }
+    public void setState(long state) { this.state = state; }
+
+    /**
+     * Maps an already advanced state to [0, bound) with a multiply-shift instead of a division.
+     */
+    public static int bounded(long state, int bound) {
+        return (int) (((mix32(state) & 0xFFFFFFFFL) * bound) >>> 32);
+    }
+
+    // SplittableRandom's 64-bit output mix
+    public static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // SplittableRandom's 32-bit output mix
+    public static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+}
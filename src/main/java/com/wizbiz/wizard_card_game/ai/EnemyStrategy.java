@@ -0,0 +1,56 @@
+package com.wizbiz.wizard_card_game.ai;
+
+import com.wizbiz.wizard_card_game.Actor;
+import com.wizbiz.wizard_card_game.GameController;
+
+/**
+ * EnemyStrategy - Decides which card an AI-controlled wizard plays
+ * Called once per turn, after the draw, for the wizard whose turn it is. The result
+ * is a card id from that wizard's hand, so the caller casts it without looking the
+ * card up again. A strategy that plans several casts in one turn overrides
+ * chooseCards instead. Implementations must not change the match.
+ *
+ * The enemy's strategy is chosen per match with GameController.setEnemyStrategy;
+ * the simulator also uses strategies to drive the player.
+ *
+ * Thread safety: one instance may be handed to several matches running on different
+ * threads at once, so implementations are safe to call concurrently unless their
+ * class comment says they belong to one thread. The bundled strategies keep no state
+ * between calls (ExpectimaxSearch shares only its lock-free table), except
+ * SpeculativeStrategy. BattleSimulator takes a factory for strategies that must
+ * not be shared and makes one per worker.
+ */
+public interface EnemyStrategy {
+
+    /**
+     * Returns the card id {@code self} should play, or -1 if its hand is empty.
+     */
+    int chooseCard(GameController gc, Actor self);
+
+    /**
+     * Writes the card ids {@code self} casts this turn, in order, into {@code into}
+     * (room for a full hand) and returns how many. By default chooseCard()'s pick alone.
+     * Several casts run as one GameController.executeBatch, so together they must fit
+     * the hand and MP.
+     */
+    default int chooseCards(GameController gc, Actor self, int[] into) {
+        int card = chooseCard(gc, self);
+        if (card < 0) return 0;
+        into[0] = card;
+        return 1;
+    }
+
+    /**
+     * The enemy for a difficulty level: the classic random AI at level 1, greedy
+     * damage at level 2, lethal check at level 3, then MCTS starting at 12 nodes and
+     * doubling every level, always within 250 ms.
+     */
+    static EnemyStrategy forDifficulty(int difficulty) {
+        return switch (difficulty) {
+            case 0, 1 -> new RandomStrategy();
+            case 2 -> new GreedyDamageStrategy();
+            case 3 -> new LethalCheckStrategy();
+            default -> new MctsSearch(1, 250, 12 << Math.min(difficulty - 4, 12));
+        };
+    }
+}
@@ -0,0 +1,375 @@
+package com.wizbiz.wizard_card_game.ai;
+
+import com.wizbiz.wizard_card_game.Actor;
+import com.wizbiz.wizard_card_game.BattleSnapshot;
+import com.wizbiz.wizard_card_game.Deck;
+import com.wizbiz.wizard_card_game.GameController;
+import com.wizbiz.wizard_card_game.SpellCardFactory;
+import com.wizbiz.wizard_card_game.SplitMix;
+import com.wizbiz.wizard_card_game.simulation.BattleKernel;
+import com.wizbiz.wizard_card_game.statuseffects.EffectStore;
+import com.wizbiz.wizard_card_game.statuseffects.EffectType;
+
+/**
+ * ExpectimaxSearch - Depth-limited expectimax over an AI wizard's card choices
+ * The searching wizard's moves are max nodes. Everything it cannot know is a chance
+ * node, weighted by how many copies of each card are still unseen (not in its hand
+ * or the discard pile): the card the opponent casts, modelled as an affordable unseen
+ * card, and the card the searcher draws next turn. One depth level is one own move,
+ * the opponent's reply and the next draw. Spells and effects use the BattleKernel
+ * rules.
+ *
+ * Positions carry a Zobrist hash of HP, MP, first-turn state and active effects per
+ * side, the searcher's hand as a multiset, the unseen card counts (what is known
+ * about the deck), the opponent's hand size and which wizard is searching. It is
+ * updated incrementally as moves are made: only the parts a move touches are hashed
+ * out and back in. Keys are derived by mixing the feature and its value, so no key
+ * tables are needed. Results go to a shared TranspositionTable; interchangeable
+ * copies of a card reach the same position, so repeated positions are common.
+ *
+ * Iterative deepening runs until the depth limit or the time budget is reached,
+ * and the deepest fully searched move is played.
+ */
+public class ExpectimaxSearch implements EnemyStrategy {
+
+    private static final int ACTIONS = SpellCardFactory.CARD_TYPES;
+    private static final int TYPES = EffectStore.TYPES;
+    // Frame sides; the searching wizard is always SELF, whichever side it plays
+    private static final int OPP = 0;
+    private static final int SELF = 1;
+    private static final int HAND_LIMIT = Actor.MAX_HAND_SIZE;
+
+    private static final float WIN = 10_000f;
+
+    // Hash feature ids; each feature/value pair gets its own key
+    private static final int F_HP = 0;
+    private static final int F_MP = 2;
+    private static final int F_EFFECT = 4;
+    private static final int F_HAND = F_EFFECT + 2 * TYPES;
+    private static final int F_POOL = F_HAND + ACTIONS;
+    private static final int F_OPPONENT_HAND = F_POOL + ACTIONS;
+    private static final int F_SEARCHER = F_OPPONENT_HAND + 1;
+    private static final int F_FIRST_TURN = F_SEARCHER + 1;
+    private static final long PHASE_REPLY = 0x5DEECE66DL * SplitMix.GAMMA;
+
+    private static final int[] COST = new int[ACTIONS];
+    private static final int[] DECK_COUNTS = new int[ACTIONS];
+
+    static {
+        for (int card = 0; card < ACTIONS; card++) COST[card] = SpellCardFactory.manaCost(card);
+        for (byte card : Deck.prototype()) DECK_COUNTS[card]++;
+    }
+
+    private final int maxDepth;
+    private final long budgetNanos;
+    private final TranspositionTable table;
+
+    /**
+     * @param maxDepth    deepest iteration, in own moves
+     * @param budgetMillis time budget per decision, 0 for none
+     * @param table       transposition table; may be shared between searches and threads
+     */
+    public ExpectimaxSearch(int maxDepth, long budgetMillis, TranspositionTable table) {
+        if (maxDepth < 1) throw new IllegalArgumentException("maxDepth must be at least 1");
+        this.maxDepth = maxDepth;
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.table = table;
+    }
+
+    @Override
+    public int chooseCard(GameController gc, Actor self) {
+        if (self.getHand().isEmpty()) return -1;
+
+        BattleSnapshot snapshot = new BattleSnapshot();
+        snapshot.capture(gc);
+        table.newSearch();
+        long deadline = budgetNanos > 0 ? System.nanoTime() + budgetNanos : Long.MAX_VALUE;
+        return new Search(snapshot, self == gc.getPlayer(), deadline).run();
+    }
+
+    // Zobrist key of one feature/value pair
+    private static long key(int feature, int value) {
+        return SplitMix.mix64(feature * 0xD1B54A32D192ED03L + value * SplitMix.GAMMA);
+    }
+
+    // One decision's search; frame f holds one position, laid out like BattleKernel slots
+    private final class Search {
+        private final int frames = 3 * maxDepth + 3;
+        private final int[] hp = new int[frames * 2];
+        private final int[] mp = new int[frames * 2];
+        private final boolean[] hadFirstTurn = new boolean[frames * 2];
+        private final int[] effectMask = new int[frames * 2];
+        private final int[] effectTurns = new int[frames * 2 * TYPES];
+        private final int[] effectMagnitude = new int[frames * 2 * TYPES];
+        private final int[] hand = new int[frames * ACTIONS];   // own card counts
+        private final int[] pool = new int[frames * ACTIONS];   // unseen card counts
+        private final int[] poolSize = new int[frames];
+        private final int[] handSize = new int[frames];
+        private final int[] opponentHandSize = new int[frames];
+        private final long[] hash = new long[frames];
+
+        private final boolean selfIsPlayer;
+        private final long deadline;
+        private int nodes;
+        private boolean aborted;
+        private int rootMove = -1;
+
+        Search(BattleSnapshot s, boolean selfIsPlayer, long deadline) {
+            this.selfIsPlayer = selfIsPlayer;
+            this.deadline = deadline;
+            int me = selfIsPlayer ? BattleSnapshot.PLAYER : BattleSnapshot.ENEMY;
+            for (int side = OPP; side <= SELF; side++) {
+                int real = side == SELF ? me : 1 - me;
+                hp[side] = s.getHp(real);
+                mp[side] = s.getMp(real);
+                hadFirstTurn[side] = s.hadFirstTurn(real);
+                effectMask[side] = s.getEffectMask(real);
+                for (int type = 0; type < TYPES; type++) {
+                    effectTurns[side * TYPES + type] = s.getEffectTurns(real, type);
+                    effectMagnitude[side * TYPES + type] = s.getEffectMagnitude(real, type);
+                }
+            }
+            System.arraycopy(DECK_COUNTS, 0, pool, 0, ACTIONS);
+            for (int card = 0; card < ACTIONS; card++) {
+                hand[card] = s.getHandCount(me, card);
+                pool[card] -= hand[card];
+            }
+            for (int i = 0; i < s.getDiscardCount(); i++) {
+                pool[s.getDiscardCard(i)]--;
+            }
+            for (int card = 0; card < ACTIONS; card++) poolSize[0] += pool[card];
+            handSize[0] = s.getHandSize(me);
+            opponentHandSize[0] = s.getHandSize(1 - me);
+
+            long h = actorHash(0, OPP) ^ actorHash(0, SELF) ^ key(F_OPPONENT_HAND, opponentHandSize[0])
+                    ^ key(F_SEARCHER, me);
+            for (int card = 0; card < ACTIONS; card++) {
+                h ^= key(F_HAND + card, hand[card]) ^ key(F_POOL + card, pool[card]);
+            }
+            hash[0] = h;
+        }
+
+        int run() {
+            int best = -1;
+            for (int card = 0; card < ACTIONS && best < 0; card++) {
+                if (hand[card] > 0) best = card;
+            }
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                float value = maxNode(0, depth);
+                if (aborted) break;
+                best = rootMove;
+                if (Math.abs(value) >= WIN) break; // forced result, deeper search cannot change it
+            }
+            return best;
+        }
+
+        // Searcher to move at frame f, its card already drawn
+        private float maxNode(int f, int depth) {
+            if (isOver(f)) return terminal(f, depth);
+            if (depth == 0) return evaluate(f);
+
+            long key = hash[f];
+            if (f > 0) {
+                long entry = table.probe(key);
+                if (entry != 0 && TranspositionTable.depth(entry) >= depth) return TranspositionTable.value(entry);
+            }
+            if ((++nodes & 1023) == 0 && (System.nanoTime() >= deadline || Thread.currentThread().isInterrupted())) {
+                aborted = true;
+                return 0;
+            }
+
+            int g = f + 1;
+            float best = Float.NEGATIVE_INFINITY;
+            int bestCard = -1;
+            for (int card = 0; card < ACTIONS; card++) {
+                if (hand[f * ACTIONS + card] == 0) continue;
+                copyFrame(f, g);
+                changeHand(g, card, -1);
+                cast(g, SELF, card);
+                float value = reply(g, depth);
+                if (aborted) return 0;
+                if (value > best) {
+                    best = value;
+                    bestCard = card;
+                }
+            }
+            if (bestCard < 0) {
+                // Nothing to play: the turn passes
+                copyFrame(f, g);
+                best = reply(g, depth);
+                if (aborted) return 0;
+            }
+
+            if (f == 0) rootMove = bestCard;
+            table.store(key, best, depth, bestCard);
+            return best;
+        }
+
+        // After the searcher's card: the opponent's turn, a chance node over the cards it may cast
+        private float reply(int g, int depth) {
+            if (isOver(g)) return terminal(g, depth);
+
+            long key = hash[g] ^ PHASE_REPLY;
+            long entry = table.probe(key);
+            if (entry != 0 && TranspositionTable.depth(entry) >= depth) return TranspositionTable.value(entry);
+
+            startTurn(g, OPP);
+            if (isOver(g)) return terminal(g, depth);
+            if (opponentHandSize[g] < HAND_LIMIT && poolSize[g] > opponentHandSize[g]) {
+                setOpponentHand(g, opponentHandSize[g] + 1);
+            }
+
+            int weight = 0;
+            if (opponentHandSize[g] > 0) {
+                for (int card = 0; card < ACTIONS; card++) {
+                    if (COST[card] <= mp[g * 2 + OPP]) weight += pool[g * ACTIONS + card];
+                }
+            }
+
+            float value;
+            if (weight == 0) {
+                // Nothing affordable (or no cards): the opponent's turn does nothing
+                value = ownTurn(g, depth);
+            } else {
+                int h = g + 1;
+                value = 0;
+                for (int card = 0; card < ACTIONS; card++) {
+                    int copies = pool[g * ACTIONS + card];
+                    if (copies == 0 || COST[card] > mp[g * 2 + OPP]) continue;
+                    copyFrame(g, h);
+                    changePool(h, card, -1);
+                    setOpponentHand(h, opponentHandSize[h] - 1);
+                    cast(h, OPP, card);
+                    value += copies * ownTurn(h, depth);
+                    if (aborted) return 0;
+                }
+                value /= weight;
+            }
+            if (aborted) return 0;
+
+            table.store(key, value, depth, -1);
+            return value;
+        }
+
+        // The searcher's next turn start and draw (a chance node over unseen cards), then its move
+        private float ownTurn(int h, int depth) {
+            if (isOver(h)) return terminal(h, depth);
+            startTurn(h, SELF);
+            if (isOver(h)) return terminal(h, depth);
+
+            // Cards in the opponent's hand are unseen but cannot be drawn
+            int drawable = poolSize[h] - opponentHandSize[h];
+            if (handSize[h] >= HAND_LIMIT || drawable <= 0) return maxNode(h, depth - 1);
+
+            int k = h + 1;
+            float value = 0;
+            for (int card = 0; card < ACTIONS; card++) {
+                int copies = pool[h * ACTIONS + card];
+                if (copies == 0) continue;
+                copyFrame(h, k);
+                changePool(k, card, -1);
+                changeHand(k, card, +1);
+                value += copies * maxNode(k, depth - 1);
+                if (aborted) return 0;
+            }
+            return value / poolSize[h];
+        }
+
+        //============================================
+        // Position updates, each keeping the hash current
+        //============================================
+
+        private void cast(int f, int side, int card) {
+            long before = actorHash(f, OPP) ^ actorHash(f, SELF);
+            BattleKernel.castCard(card, f * 2 + side, f * 2 + (1 - side), hp, mp, effectMask, effectTurns, effectMagnitude);
+            hash[f] ^= before ^ actorHash(f, OPP) ^ actorHash(f, SELF);
+        }
+
+        // Mana gain and effect ticks; as in Actor, a wizard's first turn plays on its starting mana
+        private void startTurn(int f, int side) {
+            int a = f * 2 + side;
+            long before = actorHash(f, side);
+            if (hadFirstTurn[a]) mp[a]++;
+            hadFirstTurn[a] = true;
+            BattleKernel.tickEffects(a, hp, mp, effectMask, effectTurns, effectMagnitude);
+            hash[f] ^= before ^ actorHash(f, side);
+        }
+
+        private void changeHand(int f, int card, int delta) {
+            int i = f * ACTIONS + card;
+            hash[f] ^= key(F_HAND + card, hand[i]) ^ key(F_HAND + card, hand[i] + delta);
+            hand[i] += delta;
+            handSize[f] += delta;
+        }
+
+        private void changePool(int f, int card, int delta) {
+            int i = f * ACTIONS + card;
+            hash[f] ^= key(F_POOL + card, pool[i]) ^ key(F_POOL + card, pool[i] + delta);
+            pool[i] += delta;
+            poolSize[f] += delta;
+        }
+
+        private void setOpponentHand(int f, int size) {
+            hash[f] ^= key(F_OPPONENT_HAND, opponentHandSize[f]) ^ key(F_OPPONENT_HAND, size);
+            opponentHandSize[f] = size;
+        }
+
+        private long actorHash(int f, int side) {
+            int a = f * 2 + side;
+            long h = key(F_HP + side, hp[a]) ^ key(F_MP + side, mp[a]);
+            if (!hadFirstTurn[a]) h ^= key(F_FIRST_TURN + side, 0);
+            for (int m = effectMask[a]; m != 0; m &= m - 1) {
+                int type = Integer.numberOfTrailingZeros(m);
+                int i = a * TYPES + type;
+                h ^= key(F_EFFECT + side * TYPES + type, effectTurns[i] << 16 | effectMagnitude[i]);
+            }
+            return h;
+        }
+
+        private void copyFrame(int from, int to) {
+            System.arraycopy(hp, from * 2, hp, to * 2, 2);
+            System.arraycopy(mp, from * 2, mp, to * 2, 2);
+            System.arraycopy(hadFirstTurn, from * 2, hadFirstTurn, to * 2, 2);
+            System.arraycopy(effectMask, from * 2, effectMask, to * 2, 2);
+            System.arraycopy(effectTurns, from * 2 * TYPES, effectTurns, to * 2 * TYPES, 2 * TYPES);
+            System.arraycopy(effectMagnitude, from * 2 * TYPES, effectMagnitude, to * 2 * TYPES, 2 * TYPES);
+            System.arraycopy(hand, from * ACTIONS, hand, to * ACTIONS, ACTIONS);
+            System.arraycopy(pool, from * ACTIONS, pool, to * ACTIONS, ACTIONS);
+            poolSize[to] = poolSize[from];
+            handSize[to] = handSize[from];
+            opponentHandSize[to] = opponentHandSize[from];
+            hash[to] = hash[from];
+        }
+
+        //============================================
+        // Scoring, from the searcher's side
+        //============================================
+
+        private boolean isOver(int f) {
+            return hp[f * 2 + OPP] <= 0 || hp[f * 2 + SELF] <= 0;
+        }
+
+        // A player knockout is checked first, as in GameController.getWinner; sooner wins score higher
+        private float terminal(int f, int depth) {
+            boolean won = hp[f * 2 + OPP] <= 0 && (hp[f * 2 + SELF] > 0 || !selfIsPlayer);
+            return won ? WIN + depth : -WIN - depth;
+        }
+
+        // HP lead, plus damage and healing still to come from effects and shield points, plus a little for mana
+        private float evaluate(int f) {
+            return pending(f, SELF) - pending(f, OPP) + 0.5f * (mp[f * 2 + SELF] - mp[f * 2 + OPP]);
+        }
+
+        private float pending(int f, int side) {
+            int a = f * 2 + side;
+            int base = a * TYPES;
+            float value = hp[a];
+            int mask = effectMask[a];
+            if ((mask & EffectType.BURN.bit) != 0) value -= effectTurns[base + EffectType.BURN.ordinal()] * effectMagnitude[base + EffectType.BURN.ordinal()];
+            if ((mask & EffectType.POISON.bit) != 0) value -= effectTurns[base + EffectType.POISON.ordinal()] * effectMagnitude[base + EffectType.POISON.ordinal()];
+            if ((mask & EffectType.REGEN.bit) != 0) value += effectTurns[base + EffectType.REGEN.ordinal()] * effectMagnitude[base + EffectType.REGEN.ordinal()];
+            if ((mask & EffectType.SHIELD.bit) != 0) value += effectMagnitude[base + EffectType.SHIELD.ordinal()];
+            return value;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.wizbiz.wizard_card_game.ai;
+
+import com.wizbiz.wizard_card_game.Actor;
+import com.wizbiz.wizard_card_game.GameController;
+import com.wizbiz.wizard_card_game.SpellCardFactory;
+import com.wizbiz.wizard_card_game.spells.SpellTable;
+
+/**
+ * GreedyDamageStrategy - Plays the affordable card that deals the most damage
+ * A card's damage is its hit plus the burn or poison it leaves behind. Ties go to
+ * the cheaper card. Cards that deal no damage are played only when nothing
+ * affordable does, and with nothing affordable it plays the cheapest card.
+ * The multi-cast variant keeps picking that way while its MP lasts, so it spends
+ * its whole turn's mana in one batch.
+ */
+public class GreedyDamageStrategy implements EnemyStrategy {
+
+    // Immediate damage per card id (from the spell programs)
+    static final int[] HIT = new int[SpellCardFactory.CARD_TYPES];
+    // Hit plus damage-over-time ticks per card id
+    static final int[] DAMAGE = new int[SpellCardFactory.CARD_TYPES];
+
+    static {
+        SpellTable spells = SpellCardFactory.spells();
+        for (int card = 0; card < SpellCardFactory.CARD_TYPES; card++) {
+            HIT[card] = spells.hitDamage(card);
+            DAMAGE[card] = HIT[card] + spells.damageOverTime(card);
+        }
+    }
+
+    private final boolean multiCast;
+
+    public GreedyDamageStrategy() {
+        this(false);
+    }
+
+    public GreedyDamageStrategy(boolean multiCast) {
+        this.multiCast = multiCast;
+    }
+
+    @Override
+    public int chooseCard(GameController gc, Actor self) {
+        if (self.getHandSize() == 0) return -1;
+        int best = best(self.getPlayableMask());
+        return best >= 0 ? best : RandomStrategy.cheapest(self.getHandMask());
+    }
+
+    @Override
+    public int chooseCards(GameController gc, Actor self, int[] into) {
+        if (!multiCast) return EnemyStrategy.super.chooseCards(gc, self, into);
+
+        int mp = self.getMp();
+        int count = 0;
+        while (count < into.length) {
+            // Card types with copies not yet picked that the remaining MP pays for
+            int available = 0;
+            for (int m = self.getHandMask() & SpellCardFactory.affordableMask(mp); m != 0; m &= m - 1) {
+                int card = Integer.numberOfTrailingZeros(m);
+                int picked = 0;
+                for (int i = 0; i < count; i++) if (into[i] == card) picked++;
+                if (picked < self.getHandCount(card)) available |= 1 << card;
+            }
+            int best = best(available);
+            if (best < 0) break;
+            into[count++] = best;
+            mp -= SpellCardFactory.manaCost(best);
+        }
+        // Nothing affordable: the usual single pick (the cheapest card)
+        return count > 0 ? count : EnemyStrategy.super.chooseCards(gc, self, into);
+    }
+
+    // Most damage among the card ids in the mask, ties to the cheaper card; one look per card type
+    private static int best(int mask) {
+        int best = -1;
+        for (int m = mask; m != 0; m &= m - 1) {
+            int card = Integer.numberOfTrailingZeros(m);
+            if (best < 0 || DAMAGE[card] > DAMAGE[best]
+                    || DAMAGE[card] == DAMAGE[best] && SpellCardFactory.manaCost(card) < SpellCardFactory.manaCost(best)) {
+                best = card;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,99 @@
+package com.wizbiz.wizard_card_game.ai;
+
+import com.wizbiz.wizard_card_game.Actor;
+import com.wizbiz.wizard_card_game.GameController;
+import com.wizbiz.wizard_card_game.SpellCardFactory;
+import com.wizbiz.wizard_card_game.statuseffects.EffectStore;
+import com.wizbiz.wizard_card_game.statuseffects.EffectType;
+
+/**
+ * LethalCheckStrategy - Checks for a knockout either way before anything else
+ * First it plays the cheapest affordable card that knocks the opponent out, counting
+ * the burn and poison that tick at the start of the opponent's turn, and this wizard's
+ * weaken and the opponent's shield. Otherwise, if the opponent's biggest hit next turn
+ * (through this wizard's shield, plus its own ticks) could be lethal, it plays its
+ * strongest affordable heal. Everything else is left to another strategy
+ * (greedy damage by default).
+ */
+public class LethalCheckStrategy implements EnemyStrategy {
+
+    // Immediate healing per card id (from the spell programs)
+    private static final int[] HEAL = new int[SpellCardFactory.CARD_TYPES];
+
+    // Biggest hit a wizard can afford with a given amount of mana (index capped at MAX_COST)
+    private static final int MAX_COST;
+    private static final int[] BIGGEST_HIT;
+
+    static {
+        int maxCost = 0;
+        for (int card = 0; card < SpellCardFactory.CARD_TYPES; card++) {
+            HEAL[card] = SpellCardFactory.spells().selfHeal(card);
+            maxCost = Math.max(maxCost, SpellCardFactory.manaCost(card));
+        }
+        MAX_COST = maxCost;
+        BIGGEST_HIT = new int[maxCost + 1];
+        for (int card = 0; card < SpellCardFactory.CARD_TYPES; card++) {
+            for (int mp = SpellCardFactory.manaCost(card); mp <= maxCost; mp++) {
+                BIGGEST_HIT[mp] = Math.max(BIGGEST_HIT[mp], GreedyDamageStrategy.HIT[card]);
+            }
+        }
+    }
+
+    private final EnemyStrategy fallback;
+
+    public LethalCheckStrategy() {
+        this(new GreedyDamageStrategy());
+    }
+
+    public LethalCheckStrategy(EnemyStrategy fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public int chooseCard(GameController gc, Actor self) {
+        Actor opponent = gc.opponentOf(self);
+        int playable = self.getPlayableMask();
+
+        int opponentHp = opponent.getHp() - nextTick(opponent);
+        int lethal = -1;
+        for (int m = playable; m != 0; m &= m - 1) {
+            int card = Integer.numberOfTrailingZeros(m);
+            int damage = throughShield(opponent, self.getEffects().outgoing(GreedyDamageStrategy.HIT[card]));
+            if (damage >= opponentHp
+                    && (lethal < 0 || SpellCardFactory.manaCost(card) < SpellCardFactory.manaCost(lethal))) {
+                lethal = card;
+            }
+        }
+        if (lethal >= 0) return lethal;
+
+        // The opponent gains one mana before it casts; its weaken may wear off first
+        int threat = throughShield(self, BIGGEST_HIT[Math.min(opponent.getMp() + 1, MAX_COST)]) + nextTick(self);
+        if (self.getHp() <= threat) {
+            int heal = -1;
+            for (int m = playable; m != 0; m &= m - 1) {
+                int card = Integer.numberOfTrailingZeros(m);
+                if (HEAL[card] > 0 && (heal < 0 || HEAL[card] > HEAL[heal])) heal = card;
+            }
+            if (heal >= 0) return heal;
+        }
+
+        return fallback.chooseCard(gc, self);
+    }
+
+    // Part of a hit that gets past the target's shield
+    private static int throughShield(Actor target, int damage) {
+        EffectStore effects = target.getEffects();
+        if (!effects.has(EffectType.SHIELD)) return damage;
+        return Math.max(0, damage - effects.getMagnitude(EffectType.SHIELD));
+    }
+
+    // Net HP lost to effects at the actor's next turn start
+    private static int nextTick(Actor actor) {
+        EffectStore effects = actor.getEffects();
+        int tick = 0;
+        if (effects.has(EffectType.BURN)) tick += effects.getMagnitude(EffectType.BURN);
+        if (effects.has(EffectType.POISON)) tick += effects.getMagnitude(EffectType.POISON);
+        if (effects.has(EffectType.REGEN)) tick -= effects.getMagnitude(EffectType.REGEN);
+        return tick;
+    }
+}
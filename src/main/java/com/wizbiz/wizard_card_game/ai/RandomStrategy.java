@@ -0,0 +1,55 @@
+package com.wizbiz.wizard_card_game.ai;
+
+import com.wizbiz.wizard_card_game.Actor;
+import com.wizbiz.wizard_card_game.GameController;
+import com.wizbiz.wizard_card_game.SpellCardFactory;
+import com.wizbiz.wizard_card_game.SplitMix;
+
+/**
+ * RandomStrategy - The classic enemy AI
+ * Picks random cards from the hand until it finds one it can afford (up to ten
+ * tries), otherwise plays the cheapest card. Draws from the match's AI stream,
+ * so a match stays reproducible from its seed.
+ */
+public class RandomStrategy implements EnemyStrategy {
+
+    @Override
+    public int chooseCard(GameController gc, Actor self) {
+        return chooseCard(self, gc.getRandom().ai());
+    }
+
+    /**
+     * @param actor The actor with cards in hand
+     * @param rand  The random stream to pick with
+     * @return The card id to cast, or -1 if the hand is empty
+     */
+    public static int chooseCard(Actor actor, SplitMix rand) {
+        int size = actor.getHandSize();
+        if (size == 0) {
+            return -1;
+        }
+
+        // Attempt up to 10 times to find an affordable spell (each copy in hand is one pick)
+        int playable = actor.getPlayableMask();
+        for (int attempt = 0; attempt < 10; attempt++) {
+            int card = actor.cardAt(rand.nextInt(size));
+            if ((playable & 1 << card) != 0) {
+                return card;
+            }
+        }
+
+        return cheapest(actor.getHandMask());
+    }
+
+    // Card id of the cheapest card type in a non-empty hand mask (the lowest id on ties)
+    static int cheapest(int handMask) {
+        int cheapest = -1;
+        for (int m = handMask; m != 0; m &= m - 1) {
+            int card = Integer.numberOfTrailingZeros(m);
+            if (cheapest < 0 || SpellCardFactory.manaCost(card) < SpellCardFactory.manaCost(cheapest)) {
+                cheapest = card;
+            }
+        }
+        return cheapest;
+    }
+}
@@ -0,0 +1,207 @@
+package com.wizbiz.wizard_card_game.ai;
+
+import com.wizbiz.wizard_card_game.Actor;
+import com.wizbiz.wizard_card_game.BattleSnapshot;
+import com.wizbiz.wizard_card_game.Enemy;
+import com.wizbiz.wizard_card_game.GameController;
+import com.wizbiz.wizard_card_game.Player;
+import com.wizbiz.wizard_card_game.SpellCardFactory;
+import com.wizbiz.wizard_card_game.commands.EndTurnCommand;
+import com.wizbiz.wizard_card_game.events.GameEvent;
+import com.wizbiz.wizard_card_game.events.Side;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * SpeculativeStrategy - Works out the enemy's reply while the player is still choosing
+ * speculate() snapshots the match on the player's turn and, for every distinct card
+ * in the player's hand and for ending the turn without a cast, replays "player does
+ * it, enemy turn starts" on the worker pool, recording where the enemy's decision was
+ * made and what the wrapped strategy chose. Each worker thread keeps one scratch
+ * controller and restores the snapshot into it for every line it plays.
+ *
+ * The cards the player actually cast are taken from the match's SpellCast and
+ * SpellFizzled events, so a reshuffle or a turn without a cast picks the right line.
+ * A turn that cast several cards has no line and is a miss straight away.
+ *
+ * When the real enemy turn asks for a card, a recorded reply is used only if its
+ * position matches the real one exactly (including the AI random stream, which is
+ * then moved on as the search moved it), so a hit plays the same match as computing
+ * the reply on the spot. On a miss, or once the decision is made, outstanding work
+ * is cancelled by interrupting it.
+ * An instance serves one match at a time, driven from one thread.
+ */
+public class SpeculativeStrategy implements EnemyStrategy {
+
+    private final EnemyStrategy strategy;
+    private final ExecutorService workers;
+
+    // Line for the player ending the turn without a cast; the other lines are card ids
+    private static final int NO_CAST = SpellCardFactory.CARD_TYPES;
+
+    // Speculation per player line; guarded by this
+    private final Candidate[] candidates = new Candidate[NO_CAST + 1];
+    // Decision-time position of the real match (driving thread only)
+    private final BattleSnapshot position = new BattleSnapshot();
+
+    // What the player cast since the last speculate(): how many cards and the last one (driving thread only)
+    private GameController listening;
+    private int playerCasts;
+    private int playerCard;
+
+    // One scratch match per worker thread, overwritten by every line the worker plays
+    private final ThreadLocal<GameController> scratch = ThreadLocal.withInitial(() -> {
+        GameController gc = new GameController(0L);
+        gc.setAutoRun(false);
+        gc.startGameWithCustomizations(new Player(), new Enemy());
+        return gc;
+    });
+
+    private int hits;
+    private int misses;
+
+    public SpeculativeStrategy(EnemyStrategy strategy, ExecutorService workers) {
+        this.strategy = strategy;
+        this.workers = workers;
+    }
+
+    /**
+     * Starts working out the enemy's reply to each card the player could cast now.
+     * Call from the thread that drives the match, while the player's turn is waiting
+     * for input. Anything still running from an earlier call is cancelled first.
+     */
+    public synchronized void speculate(GameController gc) {
+        cancel();
+        if (gc != listening) {
+            gc.addListener(this::onEvent);
+            listening = gc;
+        }
+        playerCasts = 0;
+        if (gc.isMatchOver() || gc.isTurnPending()) return;
+
+        BattleSnapshot root = new BattleSnapshot();
+        root.capture(gc);
+        if (root.isEnemyToMove()) return;
+
+        for (int m = gc.getPlayer().getHandMask(); m != 0; m &= m - 1) {
+            submit(new Candidate(root, Integer.numberOfTrailingZeros(m)));
+        }
+        submit(new Candidate(root, NO_CAST));
+    }
+
+    private void submit(Candidate candidate) {
+        candidates[candidate.line] = candidate;
+        candidate.future = workers.submit(candidate::run);
+    }
+
+    // Notes the player's casts as the match plays them
+    private void onEvent(GameEvent event) {
+        if (event instanceof GameEvent.SpellCast e && e.caster() == Side.PLAYER) {
+            playerCard = e.spellId();
+            playerCasts++;
+        } else if (event instanceof GameEvent.SpellFizzled e && e.caster() == Side.PLAYER) {
+            playerCard = e.spellId();
+            playerCasts++;
+        }
+    }
+
+    /**
+     * Cancels all outstanding speculation.
+     */
+    public synchronized void cancel() {
+        for (int card = 0; card < candidates.length; card++) {
+            if (candidates[card] != null) {
+                candidates[card].future.cancel(true);
+                candidates[card] = null;
+            }
+        }
+    }
+
+    /**
+     * Uses the recorded reply to what the player just did (one card, or no cast) if it
+     * was worked out from this exact position (waiting for it if it is still running),
+     * otherwise asks the wrapped strategy.
+     */
+    @Override
+    public int chooseCard(GameController gc, Actor self) {
+        position.capture(gc);
+        int line = playerCasts == 0 ? NO_CAST : playerCasts == 1 ? playerCard : -1;
+        playerCasts = 0;
+        Candidate candidate = null;
+        synchronized (this) {
+            // Keep the matching line running; everything else is stale now
+            if (line >= 0 && self == gc.getEnemy()) {
+                candidate = candidates[line];
+                candidates[line] = null;
+            }
+            cancel();
+        }
+
+        if (candidate != null && candidate.await() && candidate.decision.matches(position)) {
+            hits++;
+            gc.getRandom().ai().setState(candidate.aiStateAfter);
+            return candidate.reply;
+        }
+        misses++;
+        return strategy.chooseCard(gc, self);
+    }
+
+    // Decisions served from speculation and decisions computed on the spot (driving thread only)
+    public int getHits() { return hits; }
+    public int getMisses() { return misses; }
+
+    // One "player casts this card" (or ends the turn) line, played out on the worker's scratch match
+    private final class Candidate {
+        private final BattleSnapshot root;
+        private final int line;
+        private Future<?> future;
+
+        // Written by the worker, read after the future completes
+        private final BattleSnapshot decision = new BattleSnapshot();
+        private boolean decided;
+        private int reply;
+        private long aiStateAfter;
+
+        Candidate(BattleSnapshot root, int line) {
+            this.root = root;
+            this.line = line;
+        }
+
+        void run() {
+            GameController match = scratch.get();
+            root.restore(match);
+
+            // Records the position and result of the enemy's decision, then the turn runs on as usual
+            match.setEnemyStrategy((gc, self) -> {
+                decision.capture(gc);
+                int chosen = strategy.chooseCard(gc, self);
+                aiStateAfter = gc.getRandom().ai().getState();
+                reply = chosen;
+                decided = !Thread.currentThread().isInterrupted();
+                return chosen;
+            });
+            if (line == NO_CAST) {
+                match.executeCommand(new EndTurnCommand(match.getCurrentState()));
+            } else {
+                match.castSpell(line);
+            }
+            match.step();
+        }
+
+        // Waits for the worker; false if it was cancelled, failed or never reached a decision
+        boolean await() {
+            try {
+                future.get();
+                return decided;
+            } catch (CancellationException | ExecutionException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.wizbiz.wizard_card_game.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * TranspositionTable - Fixed-size, lock-free cache of searched positions
+ * Buckets hold two entries: a depth-preferred one, kept unless the new result is
+ * at least as deep or the old one is from an earlier search, and an always-replace
+ * one. An entry is two longs, (key ^ data, data); readers accept it only if the
+ * words XOR back to their key, so an entry torn by two concurrent writers is just
+ * a miss. No locks are taken, so one table can be shared by several searches.
+ * The generation is volatile so every thread stores with the current one; two
+ * searches starting at once may bump it only once, which just ages entries later.
+ *
+ * Data packs the value (float bits, high 32), the search depth, the best move
+ * (+1, so "none" is 0), a valid bit and the search generation.
+ */
+public final class TranspositionTable {
+
+    private static final long VALID = 1L << 24;
+
+    private final AtomicLongArray words;
+    private final int bucketMask;
+    private volatile int generation;
+
+    /**
+     * @param log2Buckets table size as a power of two; each bucket takes 32 bytes
+     */
+    public TranspositionTable(int log2Buckets) {
+        this.words = new AtomicLongArray(4 << log2Buckets);
+        this.bucketMask = (1 << log2Buckets) - 1;
+    }
+
+    /**
+     * Starts a new search: entries from earlier ones become preferred replacement victims.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Returns the stored data for a key, or 0 if it is not in the table.
+     */
+    public long probe(long key) {
+        int i = ((int) key & bucketMask) << 2;
+        for (int e = i; e < i + 4; e += 2) {
+            long data = words.getOpaque(e + 1);
+            if ((data & VALID) != 0 && (words.getOpaque(e) ^ data) == key) return data;
+        }
+        return 0;
+    }
+
+    public void store(long key, float value, int depth, int move) {
+        long data = ((long) Float.floatToRawIntBits(value) << 32)
+                | VALID | ((long) (depth & 0xFF) << 16) | ((long) ((move + 1) & 0xFF) << 8) | generation;
+        int i = ((int) key & bucketMask) << 2;
+
+        long preferred = words.getOpaque(i + 1);
+        boolean replacePreferred = (preferred & VALID) == 0
+                || (preferred & 0xFF) != generation
+                || depth(preferred) <= depth
+                || (words.getOpaque(i) ^ preferred) == key;
+        int e = replacePreferred ? i : i + 2;
+        words.setOpaque(e, key ^ data);
+        words.setOpaque(e + 1, data);
+    }
+
+    public static float value(long data) { return Float.intBitsToFloat((int) (data >>> 32)); }
+    public static int depth(long data) { return (int) (data >>> 16) & 0xFF; }
+    public static int move(long data) { return ((int) (data >>> 8) & 0xFF) - 1; }
+}
@@ -0,0 +1,63 @@
+package com.wizbiz.wizard_card_game.commands;
+
+import com.wizbiz.wizard_card_game.Actor;
+import com.wizbiz.wizard_card_game.GameController;
+import com.wizbiz.wizard_card_game.SpellCardFactory;
+
+// COMMAND - running tally for checking a batch before any of it runs: starts from the
+// live hands and mana, and each queued command takes its cards and MP out of it
+public class BatchPlan {
+    private final GameController gc;
+    private final int[][] handLeft = new int[2][];
+    private final int[] mpLeft = new int[2];
+    private boolean turnEnded;
+
+    public BatchPlan(GameController gc) {
+        this.gc = gc;
+    }
+
+    // The wizard whose turn it is; only they can cast
+    public Actor getActorToMove() {
+        return gc.getCurrentState() == gc.getEnemyTurnState() ? gc.getEnemy() : gc.getPlayer();
+    }
+
+    /**
+     * Takes one copy of a card out of what is left of the actor's hand. False if none is left.
+     */
+    public boolean takeCard(Actor actor, int cardId) {
+        int[] left = hand(actor);
+        if (left[cardId] == 0) return false;
+        left[cardId]--;
+        return true;
+    }
+
+    /**
+     * Takes {@code cost} out of what is left of the actor's MP. False if that is not enough.
+     */
+    public boolean pay(Actor actor, int cost) {
+        int side = side(actor);
+        hand(actor);
+        if (mpLeft[side] < cost) return false;
+        mpLeft[side] -= cost;
+        return true;
+    }
+
+    public boolean isTurnEnded() { return turnEnded; }
+    public void endTurn() { turnEnded = true; }
+
+    // Copied from the actor the first time the plan touches it
+    private int[] hand(Actor actor) {
+        int side = side(actor);
+        if (handLeft[side] == null) {
+            int[] left = new int[SpellCardFactory.CARD_TYPES];
+            for (int card = 0; card < left.length; card++) left[card] = actor.getHandCount(card);
+            handLeft[side] = left;
+            mpLeft[side] = actor.getMp();
+        }
+        return handLeft[side];
+    }
+
+    private int side(Actor actor) {
+        return actor == gc.getPlayer() ? 0 : 1;
+    }
+}
@@ -2,28 +2,38 @@ package com.wizbiz.wizard_card_game.commands;
 
 import com.wizbiz.wizard_card_game.Actor;
 import com.wizbiz.wizard_card_game.GameController;
+import com.wizbiz.wizard_card_game.SpellCardFactory;
 
 // COMMAND - cast spell action
 public class CastSpellCommand implements Command {
     private final GameController gc;
     private final Actor caster;
     private final Actor target;
-    private final String spellName;
+    private final int cardId;
 
-    public CastSpellCommand(Actor caster, Actor target, String spellName) {
-        this.gc = GameController.getInstance();
+    public CastSpellCommand(GameController gc, Actor caster, Actor target, int cardId) {
+        this.gc = gc;
         this.caster = caster;
         this.target = target;
-        this.spellName = spellName;
+        this.cardId = cardId;
     }
 
     @Override
     public void execute() {
-        gc.playCard(caster, spellName, target);
+        gc.playCard(caster, cardId, target);
+    }
+
+    @Override
+    public String check(BatchPlan plan) {
+        if (cardId < 0 || cardId >= SpellCardFactory.CARD_TYPES) return "unknown card #" + cardId;
+        if (caster != plan.getActorToMove()) return "it is not the caster's turn";
+        if (!plan.takeCard(caster, cardId)) return "no copy left in hand";
+        if (!plan.pay(caster, SpellCardFactory.manaCost(cardId))) return "not enough mana";
+        return null;
     }
 
     @Override
     public String getDescription() {
-        return "Cast " + spellName;
+        return "Cast " + SpellCardFactory.create(cardId).getName();
     }
 }
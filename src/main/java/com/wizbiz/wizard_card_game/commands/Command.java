@@ -4,4 +4,10 @@ package com.wizbiz.wizard_card_game.commands;
 public interface Command {
     void execute();
     String getDescription();
+
+    // Batch check (GameController.executeBatch): claims what this command needs from
+    // what the commands queued before it left over; null if it can run, else why not
+    default String check(BatchPlan plan) {
+        return null;
+    }
 }
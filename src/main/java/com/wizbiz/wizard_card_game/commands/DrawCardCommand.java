@@ -9,8 +9,8 @@ public class DrawCardCommand implements Command {
     private final Actor actor;
     private final int count;
 
-    public DrawCardCommand(Actor actor, int count) {
-        this.gc = GameController.getInstance();
+    public DrawCardCommand(GameController gc, Actor actor, int count) {
+        this.gc = gc;
         this.actor = actor;
         this.count = count;
     }
@@ -15,6 +15,13 @@ public class EndTurnCommand implements Command {
         currentState.nextState();
     }
 
+    // Ends the batch as well: nothing queued after it is part of this turn
+    @Override
+    public String check(BatchPlan plan) {
+        plan.endTurn();
+        return null;
+    }
+
     @Override
     public String getDescription() {
         return "End Turn";
@@ -0,0 +1,42 @@
+package com.wizbiz.wizard_card_game.events;
+
+/**
+ * GameEvent - Typed record of something that happened in a match
+ * Events are immutable values, so they can be handed to subscribers on other
+ * threads. The engine only creates them while somebody is listening.
+ */
+public sealed interface GameEvent {
+
+    // Both wizards are in place and have drawn their opening hands
+    record MatchStarted(String playerName, String enemyName) implements GameEvent {}
+
+    // A new turn began; turn is the match's running turn count
+    record TurnStarted(Side side, int turn) implements GameEvent {}
+
+    // Turn-start mana and status effect ticks; deltas are the net HP/MP change
+    record EffectTicked(Side side, int hpDelta, int mpDelta) implements GameEvent {}
+
+    // Cards actually added to the hand (fewer than requested when the hand is full)
+    record CardDrawn(Side side, int count) implements GameEvent {}
+
+    // A command is about to run
+    record CommandExecuted(String description) implements GameEvent {}
+
+    // A card resolved; damage is the HP the target lost (negative if it gained HP)
+    record SpellCast(Side caster, int spellId, int damage) implements GameEvent {}
+
+    // A card was played without enough mana and had no effect
+    record SpellFizzled(Side caster, int spellId) implements GameEvent {}
+
+    // A play named a card that is not in the hand
+    record PlayFailed(Side side, int cardId) implements GameEvent {}
+
+    // The AI had nothing to play this turn
+    record NoPlayableCards(Side side) implements GameEvent {}
+
+    // Free-form text from GameController.logAction
+    record Message(String text) implements GameEvent {}
+
+    // A wizard was knocked out; winner is null if both went down together
+    record MatchEnded(Side winner, int turns) implements GameEvent {}
+}
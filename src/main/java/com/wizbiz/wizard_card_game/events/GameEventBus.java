@@ -0,0 +1,56 @@
+package com.wizbiz.wizard_card_game.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * GameEventBus - Per-match event fan-out
+ * Synchronous listeners (text log, UI) run inline on the engine thread.
+ * Flow subscribers (analytics, recorders) are fed through a SubmissionPublisher,
+ * which is only created on the first subscribe and delivers on the common pool.
+ * Its bounded buffers give backpressure: publish blocks while a subscriber's
+ * buffer is full, so a slow consumer slows the match instead of losing events.
+ *
+ * Callers should check isActive() before building an event, so a match with
+ * nobody listening creates no events or strings at all.
+ */
+public class GameEventBus implements AutoCloseable {
+
+    private final List<GameEventListener> listeners = new ArrayList<>();
+    private SubmissionPublisher<GameEvent> publisher;
+    private boolean active;
+
+    public void addListener(GameEventListener listener) {
+        listeners.add(listener);
+        active = true;
+    }
+
+    public void subscribe(Flow.Subscriber<? super GameEvent> subscriber) {
+        if (publisher == null) {
+            publisher = new SubmissionPublisher<>();
+        }
+        publisher.subscribe(subscriber);
+        active = true;
+    }
+
+    public boolean isActive() { return active; }
+
+    public void publish(GameEvent event) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onEvent(event);
+        }
+        if (publisher != null && !publisher.isClosed()) {
+            publisher.submit(event);
+        }
+    }
+
+    /**
+     * Completes all Flow subscribers once their buffered events are delivered.
+     */
+    @Override
+    public void close() {
+        if (publisher != null) publisher.close();
+    }
+}
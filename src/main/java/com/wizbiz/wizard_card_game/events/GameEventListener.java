@@ -0,0 +1,11 @@
+package com.wizbiz.wizard_card_game.events;
+
+/**
+ * GameEventListener - Synchronous event callback
+ * Runs on the engine thread in publish order, so keep it cheap. Use
+ * GameEventBus.subscribe for heavy consumers.
+ */
+@FunctionalInterface
+public interface GameEventListener {
+    void onEvent(GameEvent event);
+}
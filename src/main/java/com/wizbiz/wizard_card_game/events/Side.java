@@ -0,0 +1,19 @@
+package com.wizbiz.wizard_card_game.events;
+
+/**
+ * Side - Which wizard an event is about
+ * Events carry a side rather than the Actor itself, so subscribers on other
+ * threads never hold a reference to live match state.
+ */
+public enum Side {
+    PLAYER("Player"),
+    ENEMY("Enemy");
+
+    private final String label;
+
+    Side(String label) {
+        this.label = label;
+    }
+
+    public String label() { return label; }
+}
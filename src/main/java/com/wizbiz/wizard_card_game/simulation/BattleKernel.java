@@ -0,0 +1,499 @@
+package com.wizbiz.wizard_card_game.simulation;
+
+import com.wizbiz.wizard_card_game.BattleSnapshot;
+import com.wizbiz.wizard_card_game.Deck;
+import com.wizbiz.wizard_card_game.SplitMix;
+import com.wizbiz.wizard_card_game.SpellCardFactory;
+import com.wizbiz.wizard_card_game.spells.SpellTable;
+import com.wizbiz.wizard_card_game.statuseffects.EffectStore;
+import com.wizbiz.wizard_card_game.statuseffects.EffectType;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static com.wizbiz.wizard_card_game.SpellCardFactory.*;
+
+/**
+ * BattleKernel - Struct-of-arrays battle representation for bulk simulation
+ * One slab holds the state of many matches in flat primitive arrays (HP, MP,
+ * hand card counts, effect counters, deck order, position and discard pile), indexed by slot.
+ * A match is played with the same rules, turn order and random stream usage as
+ * the GameController/Actor/Spell object model, so a seed gives the same result
+ * on both paths, but turns run without any heap allocation. Only match setup
+ * allocates (the SplittableRandom that seeds the match's streams).
+ *
+ * Both wizards are driven by the RandomStrategy rules, as in BattleSimulator by default.
+ * Spells run the same SpellTable programs as the Spell class. A kernel can be given
+ * a different table for balance sweeps; results then no longer match the object model.
+ */
+public class BattleKernel {
+
+    public static final int PLAYER = 0;
+    public static final int ENEMY = 1;
+
+    // Match outcomes
+    public static final int DRAW = 0;
+    public static final int PLAYER_WIN = 1;
+    public static final int ENEMY_WIN = 2;
+
+    // Standard spells (SpellCardFactory.spells()), for the static rules
+    private static final int[] CARD_COST = new int[CARD_TYPES];
+    private static final int[][] PROGRAM = new int[CARD_TYPES][];
+
+    // Status effect slots (EffectType ordinals)
+    private static final int BURN = EffectType.BURN.ordinal();
+    private static final int FREEZE = EffectType.FREEZE.ordinal();
+    private static final int POISON = EffectType.POISON.ordinal();
+    private static final int REGEN = EffectType.REGEN.ordinal();
+    private static final int SHIELD_FX = EffectType.SHIELD.ordinal();
+    private static final int STUN = EffectType.STUN.ordinal();
+    private static final int EFFECT_TYPES = EffectStore.TYPES;
+
+    private static final int HAND_LIMIT = 5;
+    private static final int STARTING_HAND = 5;
+    private static final int DECK_SIZE = Deck.SIZE;
+    private static final byte[] DECK_PROTOTYPE = Deck.prototype();
+
+    static {
+        for (int card = 0; card < CARD_TYPES; card++) {
+            CARD_COST[card] = SpellCardFactory.spells().cost(card);
+            PROGRAM[card] = SpellCardFactory.spells().program(card);
+        }
+    }
+
+    private final int capacity;
+
+    // Spells this kernel plays with
+    private final int[] cardCost;
+    private final int[][] program;
+
+    // Per actor, indexed by slot * 2 + side
+    private final int[] hp;
+    private final int[] mp;
+    private final boolean[] hadFirstTurn;
+    private final int[] handSize;
+    private final byte[] handCount;      // CARD_TYPES copy counts per actor
+    private final int[] handMask;        // bit per card id in hand
+    private final int[] effectMask;      // bit per active effect type
+    private final int[] effectTurns;     // EFFECT_TYPES counters per actor
+    private final int[] effectMagnitude; // burn/poison damage, regen heal, shield points, weaken percent
+
+    // Per match, indexed by slot (same layout and reshuffle rules as Deck)
+    private final byte[] deck;           // DECK_SIZE card ids per match, draw pile is [deckPos, drawCount)
+    private final int[] deckPos;
+    private final int[] drawCount;
+    private final byte[] discard;        // DECK_SIZE discarded card ids per match
+    private final int[] discardCount;
+    private final long[] shuffleState;
+    private final int[] turnCount;
+    private final long[] aiState;        // SplitMix state of the AI stream
+
+    public BattleKernel(int capacity) {
+        this(capacity, SpellCardFactory.spells());
+    }
+
+    /**
+     * A kernel whose cards run the given spells (one per card id) instead of the standard ones.
+     */
+    public BattleKernel(int capacity, SpellTable spells) {
+        if (spells.size() != CARD_TYPES) {
+            throw new IllegalArgumentException("Expected " + CARD_TYPES + " spells, got " + spells.size());
+        }
+        this.capacity = capacity;
+        cardCost = new int[CARD_TYPES];
+        program = new int[CARD_TYPES][];
+        for (int card = 0; card < CARD_TYPES; card++) {
+            cardCost[card] = spells.cost(card);
+            program[card] = spells.program(card);
+        }
+        int actors = capacity * 2;
+        hp = new int[actors];
+        mp = new int[actors];
+        hadFirstTurn = new boolean[actors];
+        handSize = new int[actors];
+        handCount = new byte[actors * CARD_TYPES];
+        handMask = new int[actors];
+        effectMask = new int[actors];
+        effectTurns = new int[actors * EFFECT_TYPES];
+        effectMagnitude = new int[actors * EFFECT_TYPES];
+        deck = new byte[capacity * DECK_SIZE];
+        deckPos = new int[capacity];
+        drawCount = new int[capacity];
+        discard = new byte[capacity * DECK_SIZE];
+        discardCount = new int[capacity];
+        shuffleState = new long[capacity];
+        turnCount = new int[capacity];
+        aiState = new long[capacity];
+    }
+
+    public int getCapacity() { return capacity; }
+
+    /**
+     * Plays a whole match in the given slot and returns PLAYER_WIN, ENEMY_WIN or DRAW.
+     * Mirrors BattleSimulator.playMatch: the loop stops at a knockout, or when the
+     * turn counter reaches the limit at the start of a player decision.
+     */
+    public int playMatch(int slot, long seed, int difficulty, int turnLimit) {
+        setUp(slot, seed, difficulty);
+        startTurn(slot, slot * 2 + PLAYER);
+        return playOut(slot, PLAYER, turnLimit);
+    }
+
+    /**
+     * Continues a match whose side {@code toMove} has started its turn and is about
+     * to pick a card, with both sides played by the AI rules, and returns the outcome.
+     * As in GameController.runTurns, the turn that reaches the limit is played to
+     * the end and no later turn starts.
+     */
+    public int playOut(int slot, int toMove, int turnLimit) {
+        int side = toMove;
+        while (!isOver(slot)) {
+            playTurn(slot, slot * 2 + side, slot * 2 + (1 - side));
+            if (isOver(slot) || turnCount[slot] >= turnLimit) break;
+            side = 1 - side;
+            startTurn(slot, slot * 2 + side);
+        }
+        return outcome(slot);
+    }
+
+    /**
+     * Plays a chosen card for {@code side} (a negative card passes) and, unless that
+     * ends the match, starts the other side's turn.
+     */
+    public void playMove(int slot, int side, int card) {
+        int caster = slot * 2 + side;
+        int target = slot * 2 + (1 - side);
+        if (card >= 0) playCard(caster, card, target);
+        if (!isOver(slot)) startTurn(slot, target);
+    }
+
+    //============================================
+    // Loading and branching positions (search)
+    //============================================
+
+    /**
+     * Lays a captured GameController position out in a slot. The snapshot must be
+     * taken inside a turn (after its draw), as search code does.
+     */
+    public void load(int slot, BattleSnapshot snapshot) {
+        if (snapshot.isTurnPending()) {
+            throw new IllegalArgumentException("Snapshot was taken between turns; the kernel needs a started turn");
+        }
+        for (int side = PLAYER; side <= ENEMY; side++) {
+            int a = slot * 2 + side;
+            hp[a] = snapshot.getHp(side);
+            mp[a] = snapshot.getMp(side);
+            hadFirstTurn[a] = snapshot.hadFirstTurn(side);
+            handSize[a] = snapshot.getHandSize(side);
+            handMask[a] = 0;
+            for (int card = 0; card < CARD_TYPES; card++) {
+                handCount[a * CARD_TYPES + card] = (byte) snapshot.getHandCount(side, card);
+                if (handCount[a * CARD_TYPES + card] > 0) handMask[a] |= 1 << card;
+            }
+            effectMask[a] = snapshot.getEffectMask(side);
+            for (int type = 0; type < EFFECT_TYPES; type++) {
+                effectTurns[a * EFFECT_TYPES + type] = snapshot.getEffectTurns(side, type);
+                effectMagnitude[a * EFFECT_TYPES + type] = snapshot.getEffectMagnitude(side, type);
+            }
+        }
+        int base = slot * DECK_SIZE;
+        for (int i = 0; i < DECK_SIZE; i++) {
+            deck[base + i] = (byte) snapshot.getDeckCard(i);
+        }
+        discardCount[slot] = snapshot.getDiscardCount();
+        for (int i = 0; i < discardCount[slot]; i++) {
+            discard[base + i] = (byte) snapshot.getDiscardCard(i);
+        }
+        deckPos[slot] = snapshot.getDeckPosition();
+        drawCount[slot] = snapshot.getDrawCount();
+        shuffleState[slot] = snapshot.getShuffleState();
+        turnCount[slot] = snapshot.getTurnCount();
+        aiState[slot] = snapshot.getAiState();
+    }
+
+    /**
+     * Copies the whole state of one slot into another, e.g. to branch from a root position.
+     */
+    public void copySlot(int from, int to) {
+        for (int side = PLAYER; side <= ENEMY; side++) {
+            int src = from * 2 + side;
+            int dst = to * 2 + side;
+            hp[dst] = hp[src];
+            mp[dst] = mp[src];
+            hadFirstTurn[dst] = hadFirstTurn[src];
+            handSize[dst] = handSize[src];
+            handMask[dst] = handMask[src];
+            effectMask[dst] = effectMask[src];
+        }
+        System.arraycopy(handCount, from * 2 * CARD_TYPES, handCount, to * 2 * CARD_TYPES, 2 * CARD_TYPES);
+        System.arraycopy(effectTurns, from * 2 * EFFECT_TYPES, effectTurns, to * 2 * EFFECT_TYPES, 2 * EFFECT_TYPES);
+        System.arraycopy(effectMagnitude, from * 2 * EFFECT_TYPES, effectMagnitude, to * 2 * EFFECT_TYPES, 2 * EFFECT_TYPES);
+        System.arraycopy(deck, from * DECK_SIZE, deck, to * DECK_SIZE, DECK_SIZE);
+        System.arraycopy(discard, from * DECK_SIZE, discard, to * DECK_SIZE, discardCount[from]);
+        deckPos[to] = deckPos[from];
+        drawCount[to] = drawCount[from];
+        discardCount[to] = discardCount[from];
+        shuffleState[to] = shuffleState[from];
+        turnCount[to] = turnCount[from];
+        aiState[to] = aiState[from];
+    }
+
+    /**
+     * Replaces what {@code observer} cannot see with one consistent guess: the other
+     * side's hand and the draw pile are pooled, shuffled and dealt back out in the
+     * same sizes, and the shuffle and AI streams are reseeded. Returns the advanced state.
+     */
+    public long determinize(int slot, int observer, long state) {
+        int other = slot * 2 + (1 - observer);
+        int base = slot * DECK_SIZE;
+        int pos = deckPos[slot];
+        int size = handSize[other];
+        // Draw pile is deck[pos, drawCount); park the hidden hand just in front of it
+        // (the already-drawn area), shuffle the lot and take the hand back from the front
+        int from = pos - size;
+        if (from < 0) {
+            // Not enough drawn-card room (only right after a reshuffle): shift the pile up
+            int shift = -from;
+            System.arraycopy(deck, base + pos, deck, base + pos + shift, drawCount[slot] - pos);
+            pos += shift;
+            drawCount[slot] += shift;
+            from = 0;
+        }
+        int at = base + from;
+        for (int m = handMask[other]; m != 0; m &= m - 1) {
+            int card = Integer.numberOfTrailingZeros(m);
+            for (int n = handCount[other * CARD_TYPES + card]; n > 0; n--) deck[at++] = (byte) card;
+        }
+        state = Deck.shuffle(deck, base + from, drawCount[slot] - from, state);
+        clearHand(other);
+        for (int i = 0; i < size; i++) addToHand(other, deck[base + from + i]);
+        deckPos[slot] = pos;
+
+        shuffleState[slot] = SplitMix.mix64(state += SplitMix.GAMMA);
+        aiState[slot] = SplitMix.mix64(state += SplitMix.GAMMA);
+        return state;
+    }
+
+    /**
+     * Bit per card id that {@code side} holds at least one copy of.
+     */
+    public int handMask(int slot, int side) {
+        return handMask[slot * 2 + side];
+    }
+
+    /**
+     * Resets a slot to the opening position of the match with this seed:
+     * difficulty scaling, shuffled deck and both starting hands.
+     */
+    public void setUp(int slot, long seed, int difficulty) {
+        // Same split order as MatchRandom: deck stream first, then AI stream
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom deckRandom = root.split();
+        aiState[slot] = root.split().nextLong();
+
+        for (int side = PLAYER; side <= ENEMY; side++) {
+            int a = slot * 2 + side;
+            hp[a] = 100;
+            mp[a] = difficulty;
+            hadFirstTurn[a] = false;
+            clearHand(a);
+            effectMask[a] = 0;
+        }
+        if (difficulty > 1) {
+            hp[slot * 2 + ENEMY] += (difficulty - 1) * 20;
+        }
+
+        int base = slot * DECK_SIZE;
+        System.arraycopy(DECK_PROTOTYPE, 0, deck, base, DECK_SIZE);
+        shuffleState[slot] = Deck.shuffle(deck, base, DECK_SIZE, deckRandom.nextLong());
+        deckPos[slot] = 0;
+        drawCount[slot] = DECK_SIZE;
+        discardCount[slot] = 0;
+        turnCount[slot] = 0;
+
+        draw(slot, slot * 2 + PLAYER, STARTING_HAND);
+        draw(slot, slot * 2 + ENEMY, STARTING_HAND);
+    }
+
+    // Turn start: mana, status effect ticks, then one card
+    private void startTurn(int slot, int actor) {
+        turnCount[slot]++;
+        startTurnEffects(actor);
+        draw(slot, actor, 1);
+    }
+
+    // AI decision and cast; an empty hand just ends the turn
+    private void playTurn(int slot, int caster, int target) {
+        int card = chooseCard(slot, caster);
+        if (card >= 0) {
+            playCard(caster, card, target);
+        }
+    }
+
+    private void draw(int slot, int actor, int count) {
+        for (int i = 0; i < count && (deckPos[slot] < drawCount[slot] || discardCount[slot] > 0); i++) {
+            if (handSize[actor] < HAND_LIMIT) {
+                if (deckPos[slot] == drawCount[slot]) reshuffle(slot);
+                addToHand(actor, deck[slot * DECK_SIZE + deckPos[slot]++]);
+            } else {
+                break;
+            }
+        }
+    }
+
+    private void reshuffle(int slot) {
+        int base = slot * DECK_SIZE;
+        System.arraycopy(discard, base, deck, base, discardCount[slot]);
+        drawCount[slot] = discardCount[slot];
+        deckPos[slot] = 0;
+        discardCount[slot] = 0;
+        shuffleState[slot] = Deck.shuffle(deck, base, drawCount[slot], shuffleState[slot]);
+    }
+
+    // Same algorithm and random calls as RandomStrategy; returns a card id or -1
+    private int chooseCard(int slot, int actor) {
+        int size = handSize[actor];
+        if (size == 0) return -1;
+
+        for (int attempt = 0; attempt < 10; attempt++) {
+            aiState[slot] += SplitMix.GAMMA;
+            int card = cardAt(actor, SplitMix.bounded(aiState[slot], size));
+            if (mp[actor] >= cardCost[card]) return card;
+        }
+
+        // Lowest id among the cheapest, as in card id order
+        int cheapest = -1;
+        for (int m = handMask[actor]; m != 0; m &= m - 1) {
+            int card = Integer.numberOfTrailingZeros(m);
+            if (cheapest < 0 || cardCost[card] < cardCost[cheapest]) cheapest = card;
+        }
+        return cheapest;
+    }
+
+    // Card at position index of the hand listed in card id order, as in Actor.cardAt
+    private int cardAt(int actor, int index) {
+        for (int m = handMask[actor]; ; m &= m - 1) {
+            int card = Integer.numberOfTrailingZeros(m);
+            index -= handCount[actor * CARD_TYPES + card];
+            if (index < 0) return card;
+        }
+    }
+
+    private void addToHand(int actor, int card) {
+        handCount[actor * CARD_TYPES + card]++;
+        handMask[actor] |= 1 << card;
+        handSize[actor]++;
+    }
+
+    private void clearHand(int actor) {
+        Arrays.fill(handCount, actor * CARD_TYPES, (actor + 1) * CARD_TYPES, (byte) 0);
+        handMask[actor] = 0;
+        handSize[actor] = 0;
+    }
+
+    // Removes one copy of the card from the hand (as playCard does) and casts it
+    private void playCard(int caster, int card, int target) {
+        if (--handCount[caster * CARD_TYPES + card] == 0) handMask[caster] &= ~(1 << card);
+        handSize[caster]--;
+        int slot = caster >> 1;
+        discard[slot * DECK_SIZE + discardCount[slot]++] = (byte) card;
+
+        castSpell(program[card], cardCost[card], caster, target, hp, mp, effectMask, effectTurns, effectMagnitude);
+    }
+
+    // Same as Actor.startTurnEffects: mana first (after the first turn), then effect ticks
+    private void startTurnEffects(int actor) {
+        if (hadFirstTurn[actor]) mp[actor] += 1;
+        hadFirstTurn[actor] = true;
+        tickEffects(actor, hp, mp, effectMask, effectTurns, effectMagnitude);
+    }
+
+    //============================================
+    // Rules over actor-indexed arrays (also used by search code)
+    //============================================
+
+    /**
+     * Casts a standard card from actor {@code caster} at actor {@code target}, in arrays
+     * laid out like the kernel's: one entry per actor and EFFECT_TYPES effect counters
+     * per actor. Unaffordable cards fizzle. Same effects as the Spell class.
+     */
+    public static void castCard(int card, int caster, int target,
+                                int[] hp, int[] mp, int[] effectMask, int[] effectTurns, int[] effectMagnitude) {
+        castSpell(PROGRAM[card], CARD_COST[card], caster, target, hp, mp, effectMask, effectTurns, effectMagnitude);
+    }
+
+    // Spell.cast over the arrays: pay, then run the program
+    private static void castSpell(int[] code, int cost, int caster, int target,
+                                  int[] hp, int[] mp, int[] effectMask, int[] effectTurns, int[] effectMagnitude) {
+        if (mp[caster] < cost) return; // unaffordable cards fizzle
+        mp[caster] -= cost;
+
+        int pc = 0;
+        while (pc < code.length) {
+            switch (code[pc]) {
+                case SpellTable.DAMAGE -> { hit(caster, target, code[pc + 1], hp, effectMask, effectMagnitude); pc += 2; }
+                case SpellTable.HEAL_SELF -> { hp[caster] += code[pc + 1]; pc += 2; }
+                case SpellTable.APPLY -> {
+                    addEffect(target, code[pc + 1], code[pc + 2], code[pc + 3], effectMask, effectTurns, effectMagnitude);
+                    pc += 4;
+                }
+                case SpellTable.APPLY_SELF -> {
+                    addEffect(caster, code[pc + 1], code[pc + 2], code[pc + 3], effectMask, effectTurns, effectMagnitude);
+                    pc += 4;
+                }
+                default -> throw new IllegalStateException("Unknown opcode " + code[pc]);
+            }
+        }
+    }
+
+    // Same damage pipeline as Actor.hit: caster's weaken, then target's shield
+    private static void hit(int caster, int target, int damage, int[] hp, int[] effectMask, int[] effectMagnitude) {
+        damage = EffectStore.outgoing(damage, effectMask[caster], effectMagnitude, caster * EFFECT_TYPES);
+        int mask = effectMask[target];
+        if ((mask & (1 << SHIELD_FX)) != 0) {
+            int base = target * EFFECT_TYPES;
+            damage = EffectStore.absorb(effectMagnitude, base, damage);
+            if (effectMagnitude[base + SHIELD_FX] == 0) effectMask[target] = mask & ~(1 << SHIELD_FX);
+        }
+        hp[target] -= damage;
+    }
+
+    // Same stacking rules as EffectStore
+    private static void addEffect(int actor, int type, int turns, int magnitude,
+                                  int[] effectMask, int[] effectTurns, int[] effectMagnitude) {
+        effectMask[actor] = EffectStore.add(effectMask[actor], effectTurns, effectMagnitude,
+                actor * EFFECT_TYPES, type, turns, magnitude);
+    }
+
+    /**
+     * Start-of-turn status effect ticks for one actor (EffectStore.tick over flat arrays).
+     */
+    public static void tickEffects(int actor, int[] hp, int[] mp, int[] effectMask, int[] effectTurns, int[] effectMagnitude) {
+        int mask = effectMask[actor];
+        if (mask == 0) return;
+
+        int base = actor * EFFECT_TYPES;
+        if ((mask & (1 << BURN)) != 0) hp[actor] -= effectMagnitude[base + BURN];
+        if ((mask & (1 << POISON)) != 0) hp[actor] -= effectMagnitude[base + POISON];
+        if ((mask & (1 << REGEN)) != 0) hp[actor] += effectMagnitude[base + REGEN];
+        if ((mask & (1 << FREEZE)) != 0 && mp[actor] > 0) mp[actor]--;
+        if ((mask & (1 << STUN)) != 0 && mp[actor] > 0) mp[actor]--;
+
+        effectMask[actor] = EffectStore.expire(mask, effectTurns, base);
+    }
+
+    public boolean isOver(int slot) {
+        return hp[slot * 2 + PLAYER] <= 0 || hp[slot * 2 + ENEMY] <= 0;
+    }
+
+    // A player knockout is checked first, as in GameController.getWinner
+    public int outcome(int slot) {
+        if (hp[slot * 2 + PLAYER] <= 0) return ENEMY_WIN;
+        if (hp[slot * 2 + ENEMY] <= 0) return PLAYER_WIN;
+        return DRAW;
+    }
+
+    public int getHp(int slot, int side) { return hp[slot * 2 + side]; }
+    public int getMp(int slot, int side) { return mp[slot * 2 + side]; }
+    public int getTurnCount(int slot) { return turnCount[slot]; }
+}
@@ -0,0 +1,311 @@
+package com.wizbiz.wizard_card_game.simulation;
+
+import com.wizbiz.wizard_card_game.*;
+import com.wizbiz.wizard_card_game.ai.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * BattleSimulator - Headless Monte Carlo runner for AI-vs-AI battles
+ * Each wizard is driven by an EnemyStrategy (RandomStrategy unless set); matches are spread over a ForkJoinPool
+ * and each match gets its own GameController, so nothing here touches JavaFX.
+ * Strategies given as a factory are made once per worker thread; a single instance
+ * is shared by all workers, so it must be stateless (see EnemyStrategy).
+ *
+ * Match i of a batch is seeded from MatchRandom.seedFor(baseSeed, i), so a run is
+ * reproducible from its base seed and any single match can be replayed.
+ * With --engine kernel the matches run on the allocation-free BattleKernel instead;
+ * BattleKernelParityTest holds the two engines to the same results for the same seeds.
+ *
+ * Usage: BattleSimulator [--matches N] [--difficulty D | --difficulty FROM-TO]
+ *                        [--threads T] [--turn-limit L] [--seed S] [--replay MATCH_SEED]
+ *                        [--engine object|kernel] [--player STRATEGY] [--enemy STRATEGY]
+ *
+ * --player / --enemy pick each side's strategy, so strategies can be played head to head:
+ * random, greedy, greedy-multi (casts while MP lasts), lethal, level (EnemyStrategy.forDifficulty for each difficulty),
+ * mcts[:NODES[:MS]] (a single-threaded MctsSearch; the matches already run in parallel)
+ * or expectimax[:DEPTH[:MS]] (ExpectimaxSearch, one transposition table per side and worker).
+ */
+public class BattleSimulator {
+
+    public enum Engine { OBJECT, KERNEL }
+
+    public static final int DEFAULT_TURN_LIMIT = 200;
+
+    // Matches per fork/join leaf; large enough to amortize task overhead
+    private static final int LEAF_SIZE = 256;
+
+    private final int difficulty;
+    private final int turnLimit;
+    private final long baseSeed;
+    private final Engine engine;
+    private ThreadLocal<EnemyStrategy> playerStrategy = ThreadLocal.withInitial(RandomStrategy::new);
+    private ThreadLocal<EnemyStrategy> enemyStrategy = ThreadLocal.withInitial(RandomStrategy::new);
+
+    public BattleSimulator(int difficulty, int turnLimit, long baseSeed) {
+        this(difficulty, turnLimit, baseSeed, Engine.OBJECT);
+    }
+
+    public BattleSimulator(int difficulty, int turnLimit, long baseSeed, Engine engine) {
+        this.difficulty = difficulty;
+        this.turnLimit = turnLimit;
+        this.baseSeed = baseSeed;
+        this.engine = engine;
+    }
+
+    /**
+     * Sets the strategy that picks the player's cards (object engine only, unless random).
+     * The instance is shared by every worker thread.
+     */
+    public void setPlayerStrategy(EnemyStrategy playerStrategy) {
+        setPlayerStrategy(() -> playerStrategy);
+    }
+
+    /**
+     * Sets the factory for the player's strategy; each worker thread gets its own instance.
+     */
+    public void setPlayerStrategy(Supplier<? extends EnemyStrategy> factory) {
+        if (engine == Engine.KERNEL) checkEngine(factory.get());
+        this.playerStrategy = ThreadLocal.withInitial(factory);
+    }
+
+    /**
+     * Sets the strategy that picks the enemy's cards (object engine only, unless random).
+     * The instance is shared by every worker thread.
+     */
+    public void setEnemyStrategy(EnemyStrategy enemyStrategy) {
+        setEnemyStrategy(() -> enemyStrategy);
+    }
+
+    /**
+     * Sets the factory for the enemy's strategy; each worker thread gets its own instance.
+     */
+    public void setEnemyStrategy(Supplier<? extends EnemyStrategy> factory) {
+        if (engine == Engine.KERNEL) checkEngine(factory.get());
+        this.enemyStrategy = ThreadLocal.withInitial(factory);
+    }
+
+    private void checkEngine(EnemyStrategy strategy) {
+        if (engine == Engine.KERNEL && !(strategy instanceof RandomStrategy)) {
+            throw new IllegalArgumentException("The kernel engine only plays RandomStrategy against RandomStrategy");
+        }
+    }
+
+    /**
+     * Runs the given number of matches on the pool and returns the combined stats.
+     */
+    public SimulationStats run(ForkJoinPool pool, int matches) {
+        return pool.invoke(new MatchBatch(0, matches));
+    }
+
+    /**
+     * Plays one full match to a knockout (or the turn limit) and records the result.
+     */
+    public void playMatch(SimulationStats stats, long seed) {
+        GameController gc = playMatch(seed);
+        Actor winner = gc.getWinner();
+        if (winner == gc.getPlayer()) {
+            stats.recordPlayerWin(gc.getTurnCount());
+        } else if (winner == gc.getEnemy()) {
+            stats.recordEnemyWin(gc.getTurnCount());
+        } else {
+            stats.recordDraw(gc.getTurnCount());
+        }
+    }
+
+    /**
+     * Plays one full match from the given seed and returns its finished controller.
+     */
+    public GameController playMatch(long seed) {
+        return playMatch(new GameController(seed));
+    }
+
+    /**
+     * Plays one full match on a fresh controller, so callers can attach a log or
+     * event subscribers before it starts.
+     */
+    public GameController playMatch(GameController gc) {
+        startMatch(gc);
+        playOut(gc, turnLimit);
+        return gc;
+    }
+
+    // Sets the match up with both strategies; no turn runs until playOut
+    private void startMatch(GameController gc) {
+        gc.setAutoRun(false);
+        gc.setPlayerStrategy(playerStrategy.get());
+        gc.setEnemyStrategy(enemyStrategy.get());
+        Player player = new Player();
+        Enemy enemy = new Enemy();
+        GameController.applyDifficulty(player, enemy, difficulty);
+        gc.startGameWithCustomizations(player, enemy);
+    }
+
+    // Runs turns until a knockout or until the turn counter reaches the limit
+    private void playOut(GameController gc, int limit) {
+        gc.runTurns(limit - gc.getTurnCount());
+    }
+
+    /**
+     * Plays one match in slot 0 of the kernel and records the result.
+     */
+    public void playMatch(SimulationStats stats, BattleKernel kernel, long seed) {
+        int outcome = kernel.playMatch(0, seed, difficulty, turnLimit);
+        int turns = kernel.getTurnCount(0);
+        if (outcome == BattleKernel.PLAYER_WIN) {
+            stats.recordPlayerWin(turns);
+        } else if (outcome == BattleKernel.ENEMY_WIN) {
+            stats.recordEnemyWin(turns);
+        } else {
+            stats.recordDraw(turns);
+        }
+    }
+
+    // Splits a range of match indices in half until it is small enough to play directly
+    private class MatchBatch extends RecursiveTask<SimulationStats> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        MatchBatch(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from <= LEAF_SIZE) {
+                SimulationStats stats = new SimulationStats();
+                if (engine == Engine.KERNEL) {
+                    // One slab slot per leaf, reused for every match it plays
+                    BattleKernel kernel = new BattleKernel(1);
+                    for (int i = from; i < to; i++) {
+                        playMatch(stats, kernel, MatchRandom.seedFor(baseSeed, i));
+                    }
+                } else {
+                    for (int i = from; i < to; i++) {
+                        playMatch(stats, MatchRandom.seedFor(baseSeed, i));
+                    }
+                }
+                return stats;
+            }
+            int mid = (from + to) >>> 1;
+            MatchBatch left = new MatchBatch(from, mid);
+            left.fork();
+            SimulationStats right = new MatchBatch(mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    //============================================
+    // Command-line entry point
+    //============================================
+
+    public static void main(String[] args) {
+        int matches = 100_000;
+        int fromDifficulty = 1;
+        int toDifficulty = 5;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int turnLimit = DEFAULT_TURN_LIMIT;
+        long seed = MatchRandom.newSeed();
+        Long replaySeed = null;
+        Engine engine = Engine.OBJECT;
+        String playerSpec = "random";
+        String enemySpec = "random";
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--matches" -> matches = Integer.parseInt(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--turn-limit" -> turnLimit = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--replay" -> replaySeed = Long.parseLong(args[++i]);
+                case "--engine" -> engine = Engine.valueOf(args[++i].toUpperCase());
+                case "--player" -> playerSpec = args[++i];
+                case "--enemy" -> enemySpec = args[++i];
+                case "--difficulty" -> {
+                    String value = args[++i];
+                    int dash = value.indexOf('-');
+                    if (dash < 0) {
+                        fromDifficulty = toDifficulty = Integer.parseInt(value);
+                    } else {
+                        fromDifficulty = Integer.parseInt(value.substring(0, dash));
+                        toDifficulty = Integer.parseInt(value.substring(dash + 1));
+                    }
+                }
+                default -> {
+                    System.err.println("Unknown option: " + args[i]);
+                    System.err.println("Usage: BattleSimulator [--matches N] [--difficulty D|FROM-TO] [--threads T] [--turn-limit L] [--seed S] [--replay MATCH_SEED] [--engine object|kernel] [--player STRATEGY] [--enemy STRATEGY]");
+                    System.exit(2);
+                }
+            }
+        }
+
+        if (replaySeed != null) {
+            // Replays a single match and prints its battle log
+            GameController gc = new GameController(replaySeed);
+            gc.attachLog();
+            BattleSimulator replay = new BattleSimulator(fromDifficulty, turnLimit, seed);
+            replay.setPlayerStrategy(parseStrategy(playerSpec, fromDifficulty));
+            replay.setEnemyStrategy(parseStrategy(enemySpec, fromDifficulty));
+            replay.playMatch(gc);
+            System.out.print(gc.getActionLog());
+            Actor winner = gc.getWinner();
+            System.out.println("Result after " + gc.getTurnCount() + " turns: "
+                    + (winner == null ? "draw" : winner == gc.getPlayer() ? "player wins" : "enemy wins"));
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        System.out.printf("Simulating %,d matches per difficulty on %d threads (%s engine, seed %d)%n",
+                matches, threads, engine.name().toLowerCase(), seed);
+        System.out.println("Player strategy: " + playerSpec + ", enemy strategy: " + enemySpec);
+        System.out.printf("%-10s %12s %26s %10s %8s %20s%n",
+                "difficulty", "matches/s", "player win % [95% CI]", "enemy win %", "draw %", "mean turns [95% CI]");
+
+        for (int difficulty = fromDifficulty; difficulty <= toDifficulty; difficulty++) {
+            BattleSimulator simulator = new BattleSimulator(difficulty, turnLimit, seed, engine);
+            int level = difficulty;
+            String player = playerSpec;
+            String enemy = enemySpec;
+            simulator.setPlayerStrategy(() -> parseStrategy(player, level));
+            simulator.setEnemyStrategy(() -> parseStrategy(enemy, level));
+            long start = System.nanoTime();
+            SimulationStats stats = simulator.run(pool, matches);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            double[] ci = stats.playerWinRateInterval();
+            System.out.printf("%-10d %12.0f %8.2f [%6.2f, %6.2f] %10.2f %8.2f %8.2f +/- %.2f%n",
+                    difficulty,
+                    stats.getMatches() / seconds,
+                    stats.playerWinRate() * 100, ci[0] * 100, ci[1] * 100,
+                    stats.enemyWinRate() * 100,
+                    stats.drawRate() * 100,
+                    stats.meanTurns(), stats.meanTurnsHalfWidth());
+        }
+        pool.shutdown();
+    }
+
+    /**
+     * Builds a strategy from a --player / --enemy spec (see the class comment).
+     * Searches default to 8 plies or 65536 nodes, with no time limit.
+     */
+    public static EnemyStrategy parseStrategy(String spec, int difficulty) {
+        String[] parts = spec.split(":");
+        int limit = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+        long millis = parts.length > 2 ? Long.parseLong(parts[2]) : 0;
+        return switch (parts[0]) {
+            case "random" -> new RandomStrategy();
+            case "greedy" -> new GreedyDamageStrategy();
+            case "greedy-multi" -> new GreedyDamageStrategy(true);
+            case "lethal" -> new LethalCheckStrategy();
+            case "level" -> EnemyStrategy.forDifficulty(difficulty);
+            case "mcts" -> new MctsSearch(1, millis, limit > 0 ? limit : 1 << 16);
+            case "expectimax" -> new ExpectimaxSearch(limit > 0 ? limit : 8, millis, new TranspositionTable(20));
+            default -> throw new IllegalArgumentException("Unknown strategy: " + spec);
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.wizbiz.wizard_card_game.simulation;
+
+/**
+ * SimulationStats - Running totals for a batch of simulated matches
+ * Each fork/join leaf fills its own instance; results are combined with merge()
+ */
+public class SimulationStats {
+
+    // 95% two-sided normal quantile
+    private static final double Z_95 = 1.959963984540054;
+
+    private long matches;
+    private long playerWins;
+    private long enemyWins;
+    private long draws;
+    private long turnSum;
+    private long turnSquareSum;
+
+    public void recordPlayerWin(int turns) {
+        playerWins++;
+        record(turns);
+    }
+
+    public void recordEnemyWin(int turns) {
+        enemyWins++;
+        record(turns);
+    }
+
+    public void recordDraw(int turns) {
+        draws++;
+        record(turns);
+    }
+
+    private void record(int turns) {
+        matches++;
+        turnSum += turns;
+        turnSquareSum += (long) turns * turns;
+    }
+
+    public SimulationStats merge(SimulationStats other) {
+        matches += other.matches;
+        playerWins += other.playerWins;
+        enemyWins += other.enemyWins;
+        draws += other.draws;
+        turnSum += other.turnSum;
+        turnSquareSum += other.turnSquareSum;
+        return this;
+    }
+
+    public long getMatches() { return matches; }
+    public long getPlayerWins() { return playerWins; }
+    public long getEnemyWins() { return enemyWins; }
+    public long getDraws() { return draws; }
+
+    public double playerWinRate() {
+        return matches == 0 ? 0 : (double) playerWins / matches;
+    }
+
+    public double enemyWinRate() {
+        return matches == 0 ? 0 : (double) enemyWins / matches;
+    }
+
+    public double drawRate() {
+        return matches == 0 ? 0 : (double) draws / matches;
+    }
+
+    /**
+     * Wilson score interval for the player's win rate.
+     * @return {low, high}
+     */
+    public double[] playerWinRateInterval() {
+        if (matches == 0) return new double[] {0, 0};
+        double n = matches;
+        double p = playerWinRate();
+        double z2 = Z_95 * Z_95;
+        double centre = (p + z2 / (2 * n)) / (1 + z2 / n);
+        double half = Z_95 * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n)) / (1 + z2 / n);
+        return new double[] {centre - half, centre + half};
+    }
+
+    public double meanTurns() {
+        return matches == 0 ? 0 : (double) turnSum / matches;
+    }
+
+    /**
+     * Half-width of the 95% confidence interval for the mean turn count.
+     */
+    public double meanTurnsHalfWidth() {
+        if (matches < 2) return 0;
+        double mean = meanTurns();
+        double variance = (turnSquareSum - matches * mean * mean) / (matches - 1);
+        return Z_95 * Math.sqrt(Math.max(variance, 0) / matches);
+    }
+}
@@ -1,35 +1,49 @@
 package com.wizbiz.wizard_card_game.spells;
 
 import com.wizbiz.wizard_card_game.Actor;
+import com.wizbiz.wizard_card_game.statuseffects.EffectType;
+
+import static com.wizbiz.wizard_card_game.spells.SpellTable.*;
 
 /**
- * Spell - Abstract base class for all spells
- * Uses Template Method pattern - defines spell casting algorithm
- * Subclasses implement specific effects
+ * Spell - One entry of a SpellTable, cast by running its opcode program
+ * Every spell is this one class, so cast() is a single monomorphic interpreter
+ * loop; what a spell does lives in its program, not in a subclass.
  */
-public abstract class Spell {
-    protected String name;
-    protected int manaCost;
+public final class Spell {
 
-    /**
-     * Abstract method - subclasses must implement their specific effect
-     * @param caster The actor casting the spell
-     * @param target The target of the spell
-     */
-    protected abstract void applyEffect(Actor caster, Actor target);
+    private static final EffectType[] EFFECTS = EffectType.values();
+
+    private final String name;
+    private final int manaCost;
+    private final int[] code;
+
+    public Spell(SpellTable table, int spell) {
+        this.name = table.name(spell);
+        this.manaCost = table.cost(spell);
+        this.code = table.program(spell);
+    }
 
     /**
-     * Template Method - defines the spell casting algorithm
-     * Final to prevent subclasses from changing the casting process
+     * Pays the mana cost and runs the program; a caster who cannot pay does nothing.
      * @param caster The actor casting the spell
      * @param target The target of the spell
      */
-    public final void cast(Actor caster, Actor target) {
+    public void cast(Actor caster, Actor target) {
         if (!caster.hasMp(manaCost)) return;
 
         caster.spendMp(manaCost);
-        // Future: could add animation hook here
-        applyEffect(caster, target);
+        int[] code = this.code;
+        int pc = 0;
+        while (pc < code.length) {
+            switch (code[pc]) {
+                case DAMAGE -> { caster.hit(target, code[pc + 1]); pc += 2; }
+                case HEAL_SELF -> { caster.heal(code[pc + 1]); pc += 2; }
+                case APPLY -> { target.addEffect(EFFECTS[code[pc + 1]], code[pc + 2], code[pc + 3]); pc += 4; }
+                case APPLY_SELF -> { caster.addEffect(EFFECTS[code[pc + 1]], code[pc + 2], code[pc + 3]); pc += 4; }
+                default -> throw new IllegalStateException("Unknown opcode " + code[pc]);
+            }
+        }
     }
 
     public String getName() {
@@ -0,0 +1,145 @@
+package com.wizbiz.wizard_card_game.spells;
+
+import com.wizbiz.wizard_card_game.statuseffects.EffectType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SpellTable - Spell definitions as data: a name, a mana cost and a short opcode
+ * program per spell, indexed by card id
+ * A program is a flat int array of opcodes, each followed by its operands, e.g.
+ * Meteor is {DAMAGE 35, APPLY BURN 2 3}. Spell runs it against Actors and
+ * BattleKernel against its arrays, so one table drives both engines, and balance
+ * variants are just other tables built at runtime.
+ */
+public final class SpellTable {
+
+    // Opcodes (operands follow inline)
+    public static final int DAMAGE = 0;      // amount: spell hit on the target, through the damage pipeline
+    public static final int HEAL_SELF = 1;   // amount: heals the caster
+    public static final int APPLY = 2;       // effect ordinal, turns, magnitude: status effect on the target
+    public static final int APPLY_SELF = 3;  // effect ordinal, turns, magnitude: status effect on the caster
+
+    private final String[] names;
+    private final int[] costs;
+    private final int[][] programs;
+
+    private SpellTable(String[] names, int[] costs, int[][] programs) {
+        this.names = names;
+        this.costs = costs;
+        this.programs = programs;
+    }
+
+    public int size() { return names.length; }
+    public String name(int spell) { return names[spell]; }
+    public int cost(int spell) { return costs[spell]; }
+
+    /**
+     * Copy of a spell's program.
+     */
+    public int[] program(int spell) {
+        return programs[spell].clone();
+    }
+
+    /**
+     * Total direct damage of a spell (its DAMAGE operands), before modifiers.
+     */
+    public int hitDamage(int spell) {
+        int total = 0;
+        int[] code = programs[spell];
+        for (int pc = 0; pc < code.length; pc += length(code[pc])) {
+            if (code[pc] == DAMAGE) total += code[pc + 1];
+        }
+        return total;
+    }
+
+    /**
+     * Total immediate healing a spell gives its caster (its HEAL_SELF operands).
+     */
+    public int selfHeal(int spell) {
+        int total = 0;
+        int[] code = programs[spell];
+        for (int pc = 0; pc < code.length; pc += length(code[pc])) {
+            if (code[pc] == HEAL_SELF) total += code[pc + 1];
+        }
+        return total;
+    }
+
+    /**
+     * Total damage over time a spell leaves on the target if it runs its course
+     * (turns times magnitude of each BURN or POISON it applies).
+     */
+    public int damageOverTime(int spell) {
+        int total = 0;
+        int[] code = programs[spell];
+        for (int pc = 0; pc < code.length; pc += length(code[pc])) {
+            if (code[pc] == APPLY && (code[pc + 1] == EffectType.BURN.ordinal() || code[pc + 1] == EffectType.POISON.ordinal())) {
+                total += code[pc + 2] * code[pc + 3];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Number of ints an instruction takes, opcode included.
+     */
+    public static int length(int opcode) {
+        return switch (opcode) {
+            case DAMAGE, HEAL_SELF -> 2;
+            case APPLY, APPLY_SELF -> 4;
+            default -> throw new IllegalStateException("Unknown opcode " + opcode);
+        };
+    }
+
+    /**
+     * Builds a table one spell at a time, in card id order:
+     * {@code new Builder().spell("Drain", 3).damage(12).healSelf(12).build()}
+     */
+    public static class Builder {
+        private final List<String> names = new ArrayList<>();
+        private final List<Integer> costs = new ArrayList<>();
+        private final List<int[]> programs = new ArrayList<>();
+        private int[] code = new int[0];
+
+        // Starts the next spell; the instructions that follow belong to it
+        public Builder spell(String name, int cost) {
+            finishSpell();
+            names.add(name);
+            costs.add(cost);
+            return this;
+        }
+
+        public Builder damage(int amount) { return emit(DAMAGE, amount); }
+        public Builder healSelf(int amount) { return emit(HEAL_SELF, amount); }
+
+        public Builder apply(EffectType effect, int turns, int magnitude) {
+            return emit(APPLY, effect.ordinal(), turns, magnitude);
+        }
+
+        public Builder applySelf(EffectType effect, int turns, int magnitude) {
+            return emit(APPLY_SELF, effect.ordinal(), turns, magnitude);
+        }
+
+        public SpellTable build() {
+            finishSpell();
+            int[] costArray = new int[costs.size()];
+            for (int i = 0; i < costArray.length; i++) costArray[i] = costs.get(i);
+            return new SpellTable(names.toArray(new String[0]), costArray, programs.toArray(new int[0][]));
+        }
+
+        private Builder emit(int... instruction) {
+            if (names.size() == programs.size()) throw new IllegalStateException("Call spell() first");
+            int at = code.length;
+            code = Arrays.copyOf(code, at + instruction.length);
+            System.arraycopy(instruction, 0, code, at, instruction.length);
+            return this;
+        }
+
+        private void finishSpell() {
+            if (names.size() > programs.size()) programs.add(code);
+            code = new int[0];
+        }
+    }
+}
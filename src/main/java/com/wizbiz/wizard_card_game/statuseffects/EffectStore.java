@@ -0,0 +1,170 @@
+package com.wizbiz.wizard_card_game.statuseffects;
+
+import com.wizbiz.wizard_card_game.Actor;
+
+/**
+ * EffectStore - An actor's status effects as a presence bitmask plus parallel
+ * turns-left and magnitude arrays indexed by EffectType ordinal.
+ * Adding, refreshing, ticking and querying touch only these fields, so none of
+ * them allocate. The static helpers hold the stacking, expiry and damage rules and
+ * are shared with BattleKernel, which keeps the same counters in its own slabs.
+ *
+ * The damage modifiers an actor's effects add up to are worked out whenever the
+ * set of effects changes, so scaling an outgoing hit is one multiply and divide.
+ */
+public class EffectStore {
+
+    public static final int TYPES = EffectType.values().length;
+
+    // Effects whose turn counter runs down at turn start (shield lasts until used up)
+    public static final int TIMED = ((1 << TYPES) - 1) & ~EffectType.SHIELD.bit;
+
+    private int mask;
+    private final int[] turnsLeft = new int[TYPES];
+    private final int[] magnitude = new int[TYPES];
+
+    // Percentage of its base damage the actor's attacks deal (cached from WEAKEN)
+    private int outgoingPercent = 100;
+
+    /**
+     * Applies an effect, or refreshes it if one of the same type is already active.
+     */
+    public void add(EffectType type, int turns, int magnitude) {
+        mask = add(mask, turnsLeft, this.magnitude, 0, type.ordinal(), turns, magnitude);
+        updateModifiers();
+    }
+
+    /**
+     * Start-of-turn tick: damage/heal over time and mana drain on the actor,
+     * then every timed effect loses a turn and expired ones are dropped.
+     */
+    public void tick(Actor actor) {
+        if (mask == 0) return;
+
+        if ((mask & EffectType.BURN.bit) != 0) actor.takeDamage(magnitude[EffectType.BURN.ordinal()]);
+        if ((mask & EffectType.POISON.bit) != 0) actor.takeDamage(magnitude[EffectType.POISON.ordinal()]);
+        if ((mask & EffectType.REGEN.bit) != 0) actor.heal(magnitude[EffectType.REGEN.ordinal()]);
+        if ((mask & EffectType.FREEZE.bit) != 0 && actor.getMp() > 0) actor.spendMp(1);
+        if ((mask & EffectType.STUN.bit) != 0 && actor.getMp() > 0) actor.spendMp(1);
+
+        int before = mask;
+        mask = expire(mask, turnsLeft, 0);
+        if (mask != before) updateModifiers();
+    }
+
+    /**
+     * Damage an attack of {@code damage} base points by this actor deals.
+     */
+    public int outgoing(int damage) {
+        return damage * outgoingPercent / 100;
+    }
+
+    /**
+     * Lets the shield soak up an incoming hit, using up its points, and returns the
+     * damage that gets through. The shield is gone once it has no points left.
+     */
+    public int absorb(int damage) {
+        if ((mask & EffectType.SHIELD.bit) == 0) return damage;
+        damage = absorb(magnitude, 0, damage);
+        if (magnitude[EffectType.SHIELD.ordinal()] == 0) mask &= ~EffectType.SHIELD.bit;
+        return damage;
+    }
+
+    public boolean has(EffectType type) { return (mask & type.bit) != 0; }
+    public boolean isEmpty() { return mask == 0; }
+    public int getMask() { return mask; }
+    public int getTurnsLeft(EffectType type) { return turnsLeft[type.ordinal()]; }
+    public int getMagnitude(EffectType type) { return magnitude[type.ordinal()]; }
+
+    public void clear() {
+        mask = 0;
+        updateModifiers();
+    }
+
+    /**
+     * Copies the counters into flat arrays starting at {@code base} and returns the mask.
+     */
+    public int copyTo(int[] turnsLeft, int[] magnitude, int base) {
+        System.arraycopy(this.turnsLeft, 0, turnsLeft, base, TYPES);
+        System.arraycopy(this.magnitude, 0, magnitude, base, TYPES);
+        return mask;
+    }
+
+    /**
+     * Replaces every effect with the ones in the flat arrays starting at {@code base}.
+     */
+    public void copyFrom(int mask, int[] turnsLeft, int[] magnitude, int base) {
+        this.mask = mask;
+        System.arraycopy(turnsLeft, base, this.turnsLeft, 0, TYPES);
+        System.arraycopy(magnitude, base, this.magnitude, 0, TYPES);
+        updateModifiers();
+    }
+
+    private void updateModifiers() {
+        outgoingPercent = (mask & EffectType.WEAKEN.bit) != 0 ? 100 - magnitude[EffectType.WEAKEN.ordinal()] : 100;
+    }
+
+    //============================================
+    // Rules over raw counters (also used by BattleKernel)
+    //============================================
+
+    /**
+     * Adds or refreshes effect {@code type} in the counters starting at {@code base}
+     * and returns the new mask. Refresh rules: poison adds the new damage to the old
+     * and takes the new duration, regen takes the new heal and duration, shield is
+     * restored to the new shield's points, everything else just takes the new duration.
+     */
+    public static int add(int mask, int[] turnsLeft, int[] magnitude, int base, int type, int turns, int amount) {
+        int i = base + type;
+        int bit = 1 << type;
+        if ((mask & bit) == 0) {
+            turnsLeft[i] = turns;
+            magnitude[i] = amount;
+            return mask | bit;
+        }
+        if (type == EffectType.POISON.ordinal()) {
+            magnitude[i] += amount;
+            turnsLeft[i] = turns;
+        } else if (type == EffectType.REGEN.ordinal() || type == EffectType.SHIELD.ordinal()) {
+            magnitude[i] = amount;
+            turnsLeft[i] = turns;
+        } else {
+            turnsLeft[i] = turns;
+        }
+        return mask;
+    }
+
+    /**
+     * Scales an attack of {@code damage} base points by the attacker's effects in the
+     * counters starting at {@code base}: WEAKEN takes its magnitude in percent off.
+     */
+    public static int outgoing(int damage, int mask, int[] magnitude, int base) {
+        if ((mask & EffectType.WEAKEN.bit) == 0) return damage;
+        return damage * (100 - magnitude[base + EffectType.WEAKEN.ordinal()]) / 100;
+    }
+
+    /**
+     * Takes up to {@code damage} points off the shield in the counters starting at
+     * {@code base} and returns the damage left over. The caller drops the SHIELD bit
+     * once the shield is down to 0 points.
+     */
+    public static int absorb(int[] magnitude, int base, int damage) {
+        int i = base + EffectType.SHIELD.ordinal();
+        int soaked = Math.min(damage, magnitude[i]);
+        magnitude[i] -= soaked;
+        return damage - soaked;
+    }
+
+    /**
+     * Counts down every active timed effect and returns the mask without the expired ones.
+     */
+    public static int expire(int mask, int[] turnsLeft, int base) {
+        int timed = mask & TIMED;
+        while (timed != 0) {
+            int type = Integer.numberOfTrailingZeros(timed);
+            timed &= timed - 1;
+            if (--turnsLeft[base + type] <= 0) mask &= ~(1 << type);
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,26 @@
+package com.wizbiz.wizard_card_game.statuseffects;
+
+/**
+ * EffectType - The status effects an actor can carry, one slot each in an EffectStore
+ * Turn-based effects tick down at the start of the affected actor's turn;
+ * re-applying an effect that is already active refreshes it instead of stacking a copy.
+ * SHIELD and WEAKEN modify the direct damage of spells; damage over time ignores both.
+ */
+public enum EffectType {
+    // Damage each turn (magnitude). Applied by: Fireball, Meteor
+    BURN,
+    // Drains 1 mana each turn if available. Applied by: Ice Blast
+    FREEZE,
+    // Damage each turn (magnitude); re-applying adds to the damage. Applied by: Poison Cloud
+    POISON,
+    // Heals each turn (magnitude). Applied by: Regeneration
+    REGEN,
+    // Shield points (magnitude) that soak up spell hits; not turn-based, lasts until used up. Applied by: Shield
+    SHIELD,
+    // Drains 1 mana each turn if available. Applied by: Thunderbolt
+    STUN,
+    // The actor's spell hits deal magnitude percent less damage. Applied by: Curse
+    WEAKEN;
+
+    public final int bit = 1 << ordinal();
+}
@@ -9,4 +9,8 @@ module com.wizbiz.wizard_card_game {
     exports com.wizbiz.wizard_card_game;
     exports com.wizbiz.wizard_card_game.spells;
     opens com.wizbiz.wizard_card_game.spells to javafx.fxml;
+    exports com.wizbiz.wizard_card_game.statuseffects;
+    exports com.wizbiz.wizard_card_game.events;
+    exports com.wizbiz.wizard_card_game.simulation;
+    exports com.wizbiz.wizard_card_game.ai;
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.wizbiz.wizard_card_game;
+
+import com.wizbiz.wizard_card_game.ai.EnemyStrategy;
+import com.wizbiz.wizard_card_game.ai.GreedyDamageStrategy;
+import com.wizbiz.wizard_card_game.ai.LethalCheckStrategy;
+import com.wizbiz.wizard_card_game.ai.RandomStrategy;
+import com.wizbiz.wizard_card_game.simulation.BattleSimulator;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * BattleSnapshotTest - Restoring a snapshot and replaying gives the match that was played
+ * Each match is snapshotted after a varying number of turns and played out, then
+ * restored and played out again; both endings must be the same position.
+ */
+class BattleSnapshotTest {
+
+    private static final int MATCHES = 500;
+    private static final long BASE_SEED = 7L;
+    private static final int TURN_LIMIT = BattleSimulator.DEFAULT_TURN_LIMIT;
+
+    @TestFactory
+    Stream<DynamicTest> restoreAndReplayGivesSameEnding() {
+        return IntStream.rangeClosed(1, 5).mapToObj(difficulty ->
+                DynamicTest.dynamicTest("difficulty " + difficulty,
+                        () -> checkReplays(difficulty, new RandomStrategy(), new RandomStrategy())));
+    }
+
+    // Multi-cast turns run as batches; a branch can land between any two of them
+    @Test
+    void restoreAndReplayWithMultiCastTurns() {
+        checkReplays(3, new GreedyDamageStrategy(true), new LethalCheckStrategy());
+    }
+
+    @Test
+    void restoreIntoAnotherMatch() {
+        GameController gc = start(MatchRandom.seedFor(BASE_SEED, 0), 2, new RandomStrategy(), new RandomStrategy());
+        gc.runTurns(9);
+        BattleSnapshot taken = new BattleSnapshot();
+        taken.capture(gc);
+
+        GameController other = start(MatchRandom.seedFor(BASE_SEED, 1), 5, new RandomStrategy(), new RandomStrategy());
+        other.runTurns(4);
+        taken.restore(other);
+        BattleSnapshot restored = new BattleSnapshot();
+        restored.capture(other);
+        assertTrue(restored.matches(taken), "restored position differs from the captured one");
+
+        gc.runTurns(TURN_LIMIT);
+        other.runTurns(TURN_LIMIT);
+        taken.capture(gc);
+        restored.capture(other);
+        assertTrue(restored.matches(taken), "restored match played out differently");
+    }
+
+    private static void checkReplays(int difficulty, EnemyStrategy playerStrategy, EnemyStrategy enemyStrategy) {
+        BattleSnapshot branch = new BattleSnapshot();
+        BattleSnapshot first = new BattleSnapshot();
+        BattleSnapshot second = new BattleSnapshot();
+        for (int i = 0; i < MATCHES; i++) {
+            long seed = MatchRandom.seedFor(BASE_SEED, i);
+            GameController gc = start(seed, difficulty, playerStrategy, enemyStrategy);
+            // Branch after a varying number of turns, from the opening on
+            gc.runTurns(1 + 2 * (i % 12));
+            branch.capture(gc);
+
+            gc.runTurns(TURN_LIMIT - gc.getTurnCount());
+            first.capture(gc);
+            Actor winner = gc.getWinner();
+
+            branch.restore(gc);
+            gc.runTurns(TURN_LIMIT - gc.getTurnCount());
+            second.capture(gc);
+            assertTrue(second.matches(first), "seed " + seed + ": replay after restore ended differently");
+            assertSame(winner, gc.getWinner(), "seed " + seed + ": winner");
+        }
+    }
+
+    private static GameController start(long seed, int difficulty, EnemyStrategy playerStrategy, EnemyStrategy enemyStrategy) {
+        GameController gc = new GameController(seed);
+        gc.setAutoRun(false);
+        gc.setPlayerStrategy(playerStrategy);
+        gc.setEnemyStrategy(enemyStrategy);
+        Player player = new Player();
+        Enemy enemy = new Enemy();
+        GameController.applyDifficulty(player, enemy, difficulty);
+        gc.startGameWithCustomizations(player, enemy);
+        return gc;
+    }
+}
@@ -0,0 +1,108 @@
+package com.wizbiz.wizard_card_game;
+
+import com.wizbiz.wizard_card_game.ai.RandomStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MatchJournalTest - Undo and redo walk back to the positions that were played, within the history cap
+ * Long AI-vs-AI matches are run one step() at a time (one journal entry each) and
+ * snapshotted before every step, so each undo can be checked against the position
+ * it should return to.
+ */
+class MatchJournalTest {
+
+    private static final int STEPS = 1000;
+
+    @Test
+    void undoAndRedoWithinTheCap() {
+        GameController gc = longMatch(MatchRandom.seedFor(3L, 0), MatchJournal.DEFAULT_HISTORY);
+        List<BattleSnapshot> played = play(gc, STEPS);
+        BattleSnapshot now = new BattleSnapshot();
+
+        int undone = 0;
+        while (gc.undo()) {
+            undone++;
+            now.capture(gc);
+            assertTrue(now.matches(played.get(STEPS - undone)), "undo " + undone);
+        }
+        assertEquals(MatchJournal.DEFAULT_HISTORY, undone, "undoable actions");
+
+        int redone = 0;
+        while (gc.redo()) {
+            redone++;
+            now.capture(gc);
+            assertTrue(now.matches(played.get(STEPS - undone + redone)), "redo " + redone);
+        }
+        assertEquals(undone, redone, "redoable actions");
+    }
+
+    // Recording again after an undo drops the redo entries and keeps the cap
+    @Test
+    void newActionAfterUndo() {
+        GameController gc = longMatch(MatchRandom.seedFor(3L, 1), 16);
+        List<BattleSnapshot> played = play(gc, 200);
+        for (int i = 0; i < 10; i++) assertTrue(gc.undo());
+        assertTrue(gc.step());
+        assertFalse(gc.canRedo(), "a new action clears redo");
+
+        BattleSnapshot now = new BattleSnapshot();
+        now.capture(gc);
+        assertTrue(now.matches(played.get(191)), "the step replays the undone one");
+        // Six entries were left after the undos, plus the new one
+        int undone = 0;
+        while (gc.undo()) undone++;
+        assertEquals(7, undone, "undoable actions");
+        now.capture(gc);
+        assertTrue(now.matches(played.get(200 - 16)), "oldest kept position");
+    }
+
+    @Test
+    void cappedTrailStaysBounded() {
+        long seed = MatchRandom.seedFor(3L, 2);
+        GameController capped = longMatch(seed, 32);
+        GameController uncapped = longMatch(seed, Integer.MAX_VALUE);
+        play(capped, STEPS);
+        play(uncapped, STEPS);
+        assertEquals(32, capped.getJournal().size());
+        assertEquals(STEPS, uncapped.getJournal().size());
+        // At most about twice the 32 live entries are kept, against all 1,000 uncapped
+        assertTrue(capped.getJournal().trailSize() * 8 < uncapped.getJournal().trailSize(),
+                capped.getJournal().trailSize() + " ints of trail kept, uncapped " + uncapped.getJournal().trailSize());
+    }
+
+    // Both wizards with +2000 HP, so the match outlasts the history many times over
+    private static GameController longMatch(long seed, int history) {
+        GameController gc = new GameController(seed);
+        gc.setAutoRun(false);
+        gc.setJournaling(true, history);
+        gc.setPlayerStrategy(new RandomStrategy());
+        Player player = new Player();
+        Enemy enemy = new Enemy();
+        player.heal(2000);
+        enemy.addHp(2000);
+        gc.startGameWithCustomizations(player, enemy);
+        return gc;
+    }
+
+    // Steps the match, capturing the position before each step (index = steps taken)
+    private static List<BattleSnapshot> play(GameController gc, int steps) {
+        List<BattleSnapshot> played = new ArrayList<>();
+        for (int i = 0; i < steps; i++) {
+            BattleSnapshot snapshot = new BattleSnapshot();
+            snapshot.capture(gc);
+            played.add(snapshot);
+            assertTrue(gc.step(), "match ended at step " + i);
+        }
+        BattleSnapshot last = new BattleSnapshot();
+        last.capture(gc);
+        played.add(last);
+        return played;
+    }
+}
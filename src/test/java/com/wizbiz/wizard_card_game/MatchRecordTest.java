@@ -0,0 +1,113 @@
+package com.wizbiz.wizard_card_game;
+
+import com.wizbiz.wizard_card_game.ai.EnemyStrategy;
+import com.wizbiz.wizard_card_game.ai.GreedyDamageStrategy;
+import com.wizbiz.wizard_card_game.ai.RandomStrategy;
+import com.wizbiz.wizard_card_game.simulation.BattleSimulator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MatchRecordTest - Seeking a record rebuilds the positions that were played
+ * Matches are snapshotted live at every turn boundary while being recorded, then the
+ * record is sought to each of those turns and compared.
+ */
+class MatchRecordTest {
+
+    private static final long BASE_SEED = 11L;
+
+    @Test
+    void seekRebuildsEveryTurn() {
+        for (int difficulty = 1; difficulty <= 5; difficulty++) {
+            for (int i = 0; i < 100; i++) {
+                long seed = MatchRandom.seedFor(BASE_SEED + difficulty, i);
+                GameController gc = new GameController(seed);
+                MatchRecord record = gc.attachRecord(2, 4);
+                start(gc, difficulty, 0, new RandomStrategy(), new RandomStrategy());
+                assertSeeksMatch(record, playRecorded(gc), "seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void keyframesThinAtTheCap() {
+        GameController gc = new GameController(MatchRandom.seedFor(BASE_SEED, 0));
+        MatchRecord record = gc.attachRecord(1, 4);
+        // Extra HP keeps the match going well past what four keyframes cover at interval 1
+        start(gc, 1, 400, new RandomStrategy(), new RandomStrategy());
+        List<BattleSnapshot> played = playRecorded(gc);
+
+        int last = record.getLastTurn();
+        assertTrue(last > 32, "match too short to thin: " + last + " turns");
+        assertTrue(record.getKeyframeCount() <= 4, "keyframes over the cap: " + record.getKeyframeCount());
+        assertEquals(Integer.highestOneBit(record.getInterval()), record.getInterval(), "interval doubles");
+        assertTrue(record.getInterval() * 4 >= last, "interval " + record.getInterval() + " leaves turns past the last keyframe uncovered");
+        assertSeeksMatch(record, played, "thinned record");
+    }
+
+    // A multi-cast turn is several recorded casts with the same turn number, replayed as one batch
+    @Test
+    void seekAcrossMultiCastTurns() {
+        int multiCastTurns = 0;
+        for (int i = 0; i < 50; i++) {
+            long seed = MatchRandom.seedFor(BASE_SEED, i);
+            GameController gc = new GameController(seed);
+            MatchRecord record = gc.attachRecord(2, 4);
+            start(gc, 3, 0, new GreedyDamageStrategy(true), new GreedyDamageStrategy(true));
+            List<BattleSnapshot> played = playRecorded(gc);
+
+            for (int c = 1; c < record.getCastCount(); c++) {
+                if (record.getCastTurn(c) == record.getCastTurn(c - 1)) multiCastTurns++;
+            }
+            assertSeeksMatch(record, played, "seed " + seed);
+        }
+        assertTrue(multiCastTurns > 0, "no turn cast more than one card");
+    }
+
+    @Test
+    void seekOutsideTheRecordIsRejected() {
+        GameController gc = new GameController(MatchRandom.seedFor(BASE_SEED, 0));
+        MatchRecord record = gc.attachRecord();
+        start(gc, 1, 0, new RandomStrategy(), new RandomStrategy());
+        playRecorded(gc);
+        assertThrows(IllegalArgumentException.class, () -> record.seek(record.getLastTurn() + 1));
+        assertThrows(IllegalArgumentException.class, () -> record.seek(record.getFirstTurn() - 1));
+    }
+
+    // Plays the match out, capturing the position at every turn boundary (index = turns complete)
+    private static List<BattleSnapshot> playRecorded(GameController gc) {
+        List<BattleSnapshot> played = new ArrayList<>();
+        do {
+            BattleSnapshot snapshot = new BattleSnapshot();
+            snapshot.capture(gc);
+            played.add(snapshot);
+        } while (gc.getTurnCount() < BattleSimulator.DEFAULT_TURN_LIMIT && gc.step());
+        return played;
+    }
+
+    private static void assertSeeksMatch(MatchRecord record, List<BattleSnapshot> played, String match) {
+        BattleSnapshot sought = new BattleSnapshot();
+        for (int turn = record.getFirstTurn(); turn <= record.getLastTurn(); turn++) {
+            assertTrue(record.seek(turn, sought).matches(played.get(turn)), match + ": seek to turn " + turn);
+        }
+    }
+
+    private static void start(GameController gc, int difficulty, int extraHp,
+                              EnemyStrategy playerStrategy, EnemyStrategy enemyStrategy) {
+        gc.setAutoRun(false);
+        gc.setPlayerStrategy(playerStrategy);
+        gc.setEnemyStrategy(enemyStrategy);
+        Player player = new Player();
+        Enemy enemy = new Enemy();
+        GameController.applyDifficulty(player, enemy, difficulty);
+        player.heal(extraHp);
+        enemy.addHp(extraHp);
+        gc.startGameWithCustomizations(player, enemy);
+    }
+}
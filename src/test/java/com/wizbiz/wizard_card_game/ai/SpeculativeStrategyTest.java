@@ -0,0 +1,111 @@
+package com.wizbiz.wizard_card_game.ai;
+
+import com.wizbiz.wizard_card_game.BattleSnapshot;
+import com.wizbiz.wizard_card_game.Enemy;
+import com.wizbiz.wizard_card_game.GameController;
+import com.wizbiz.wizard_card_game.MatchRandom;
+import com.wizbiz.wizard_card_game.Player;
+import com.wizbiz.wizard_card_game.SpellCardFactory;
+import com.wizbiz.wizard_card_game.SplitMix;
+import com.wizbiz.wizard_card_game.commands.EndTurnCommand;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SpeculativeStrategyTest - Speculation hits for one-card and no-cast turns and never changes the match
+ * A match with a speculating enemy and a twin with the plain strategy get the same
+ * player actions, as the battle screen would send them; both must stay identical.
+ */
+class SpeculativeStrategyTest {
+
+    private final ExecutorService workers = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void shutDown() {
+        workers.shutdownNow();
+    }
+
+    @Test
+    void speculationPlaysTheSameMatch() {
+        int multiCastTurns = 0;
+        int noCastTurns = 0;
+        int hits = 0;
+        int misses = 0;
+        for (int i = 0; i < 20; i++) {
+            long seed = MatchRandom.seedFor(5L, i);
+            SpeculativeStrategy speculative = new SpeculativeStrategy(new RandomStrategy(), workers);
+            GameController gc = start(seed, speculative);
+            GameController twin = start(seed, new RandomStrategy());
+            SplitMix choices = new SplitMix(seed);
+            BattleSnapshot expected = new BattleSnapshot();
+            BattleSnapshot actual = new BattleSnapshot();
+
+            while (!gc.isMatchOver() && gc.getTurnCount() < 200) {
+                speculative.speculate(gc);
+                int[] cards = pickCards(gc.getPlayer(), choices);
+                if (cards.length == 0) noCastTurns++;
+                if (cards.length > 1) multiCastTurns++;
+                act(gc, cards);
+                act(twin, cards);
+
+                expected.capture(twin);
+                actual.capture(gc);
+                assertTrue(actual.matches(expected), "seed " + seed + ": turn " + gc.getTurnCount() + " differs");
+            }
+            hits += speculative.getHits();
+            misses += speculative.getMisses();
+        }
+        assertTrue(noCastTurns > 0 && multiCastTurns > 0, "the player's choices should cover every kind of turn");
+        // Only multi-cast turns have no speculated line
+        assertEquals(multiCastTurns, misses, "misses");
+        assertTrue(hits > 0, "hits");
+    }
+
+    // A turn of no card, one card, or two cards that fit the MP, chosen at random
+    private static int[] pickCards(Player player, SplitMix choices) {
+        int kind = choices.nextInt(4);
+        if (kind == 0 || player.getHandSize() == 0) return new int[0];
+        int first = player.cardAt(choices.nextInt(player.getHandSize()));
+        if (kind == 3 && player.getHandSize() > 1) {
+            for (int i = 0; i < player.getHandSize(); i++) {
+                int second = player.cardAt(i);
+                if (i != indexOf(player, first)
+                        && SpellCardFactory.manaCost(first) + SpellCardFactory.manaCost(second) <= player.getMp()) {
+                    return new int[] {first, second};
+                }
+            }
+        }
+        return new int[] {first};
+    }
+
+    private static int indexOf(Player player, int card) {
+        for (int i = 0; i < player.getHandSize(); i++) {
+            if (player.cardAt(i) == card) return i;
+        }
+        return -1;
+    }
+
+    private static void act(GameController gc, int[] cards) {
+        if (cards.length == 0) {
+            gc.executeCommand(new EndTurnCommand(gc.getCurrentState()));
+        } else if (cards.length == 1) {
+            gc.castSpell(cards[0]);
+        } else {
+            gc.castSpells(cards);
+        }
+    }
+
+    // Auto-run on, as in the battle screen: the match stops when the player is to move
+    private static GameController start(long seed, EnemyStrategy enemyStrategy) {
+        GameController gc = new GameController(seed);
+        gc.setEnemyStrategy(enemyStrategy);
+        gc.startGameWithCustomizations(new Player(), new Enemy());
+        return gc;
+    }
+}
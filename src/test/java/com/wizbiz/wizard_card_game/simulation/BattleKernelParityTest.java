@@ -0,0 +1,53 @@
+package com.wizbiz.wizard_card_game.simulation;
+
+import com.wizbiz.wizard_card_game.Actor;
+import com.wizbiz.wizard_card_game.GameController;
+import com.wizbiz.wizard_card_game.MatchRandom;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * BattleKernelParityTest - The kernel plays every seed exactly as the object model does
+ * Outcome, turn count and final HP/MP of both wizards must agree for each match, at
+ * every difficulty. Any rule change made on one path and not the other fails here.
+ */
+class BattleKernelParityTest {
+
+    private static final int MATCHES = 2000;
+    private static final long BASE_SEED = 7L;
+
+    @TestFactory
+    Stream<DynamicTest> kernelMatchesObjectModel() {
+        return IntStream.rangeClosed(1, 5).mapToObj(difficulty ->
+                DynamicTest.dynamicTest("difficulty " + difficulty, () -> checkDifficulty(difficulty)));
+    }
+
+    private static void checkDifficulty(int difficulty) {
+        BattleSimulator simulator = new BattleSimulator(difficulty, BattleSimulator.DEFAULT_TURN_LIMIT, BASE_SEED);
+        BattleKernel kernel = new BattleKernel(1);
+        for (int i = 0; i < MATCHES; i++) {
+            long seed = MatchRandom.seedFor(BASE_SEED, i);
+            GameController gc = simulator.playMatch(seed);
+            kernel.playMatch(0, seed, difficulty, BattleSimulator.DEFAULT_TURN_LIMIT);
+
+            String match = "seed " + seed + " at difficulty " + difficulty + ": ";
+            assertEquals(kernel.outcome(0), outcome(gc), match + "outcome");
+            assertEquals(kernel.getTurnCount(0), gc.getTurnCount(), match + "turn count");
+            assertEquals(kernel.getHp(0, BattleKernel.PLAYER), gc.getPlayer().getHp(), match + "player HP");
+            assertEquals(kernel.getHp(0, BattleKernel.ENEMY), gc.getEnemy().getHp(), match + "enemy HP");
+            assertEquals(kernel.getMp(0, BattleKernel.PLAYER), gc.getPlayer().getMp(), match + "player MP");
+            assertEquals(kernel.getMp(0, BattleKernel.ENEMY), gc.getEnemy().getMp(), match + "enemy MP");
+        }
+    }
+
+    private static int outcome(GameController gc) {
+        Actor winner = gc.getWinner();
+        return winner == gc.getPlayer() ? BattleKernel.PLAYER_WIN
+                : winner == gc.getEnemy() ? BattleKernel.ENEMY_WIN : BattleKernel.DRAW;
+    }
+}